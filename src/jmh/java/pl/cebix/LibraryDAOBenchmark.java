@@ -0,0 +1,124 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LibraryDAOBenchmark {
+    private static final int BOOKS_PER_AUTHOR = 10;
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private SessionFactory sessionFactory;
+    private LibraryDAO libraryDAO;
+    private int authorCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("library-" + catalogSize));
+        libraryDAO = new LibraryDAO(sessionFactory);
+        authorCount = Math.max(1, catalogSize / BOOKS_PER_AUTHOR);
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < authorCount; i++) {
+            authors.add(new Author(authorName(i), 40, "Fantasy"));
+        }
+        libraryDAO.addAuthors(authors);
+
+        Map<String, List<Book>> booksByAuthorName = new LinkedHashMap<>();
+        int bookCount = 0;
+        for (int i = 0; i < catalogSize; i++) {
+            booksByAuthorName.computeIfAbsent(authorName(i % authorCount), name -> new ArrayList<>())
+                    .add(new Book(bookTitle(i), "Fantasy", 300));
+            if (++bookCount == LOAD_CHUNK_SIZE) {
+                libraryDAO.addBooksToAuthors(booksByAuthorName);
+                booksByAuthorName.clear();
+                bookCount = 0;
+            }
+        }
+        libraryDAO.addBooksToAuthors(booksByAuthorName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    private static String authorName(int index) {
+        return "Author " + index;
+    }
+
+    private static String bookTitle(int index) {
+        return "Book " + index;
+    }
+
+    private String randomAuthorName() {
+        return authorName(ThreadLocalRandom.current().nextInt(authorCount));
+    }
+
+    private String randomBookTitle() {
+        return bookTitle(ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    @Benchmark
+    public void addAuthor() {
+        libraryDAO.addAuthor(new Author("New author " + sequence.incrementAndGet(), 40, "Fantasy"));
+    }
+
+    @Benchmark
+    public void addBookToAuthor() {
+        libraryDAO.addBookToAuthor(randomAuthorName(), new Book("New book " + sequence.incrementAndGet(), "Fantasy", 300));
+    }
+
+    @Benchmark
+    public Author findAuthorByName() {
+        return libraryDAO.findAuthorByName(randomAuthorName());
+    }
+
+    @Benchmark
+    public List<Book> getBooksOfAuthor() {
+        return libraryDAO.getBooksOfAuthor(randomAuthorName());
+    }
+
+    @Benchmark
+    public List<Book> getAllBooks() {
+        return libraryDAO.getAllBooks();
+    }
+
+    @Benchmark
+    public void updateBookGenre() {
+        libraryDAO.updateBookGenre(randomBookTitle(), "Genre " + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    public void updateAuthorAge() {
+        libraryDAO.updateAuthorAge(randomAuthorName(), ThreadLocalRandom.current().nextInt(20, 90));
+    }
+
+    @Benchmark
+    public void updateBookWithPatch() {
+        libraryDAO.updateBook(randomBookTitle(), BookPatch.ofGenre("Genre " + sequence.incrementAndGet()));
+    }
+}
@@ -0,0 +1,210 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class AsyncLibraryDAO implements AutoCloseable {
+    private static final int DEFAULT_POOL_SIZE = 20;
+
+    private final LibraryDAO libraryDAO;
+    private final ExecutorService executor;
+
+    public AsyncLibraryDAO(SessionFactory sessionFactory) {
+        this(new LibraryDAO(sessionFactory), connectionPoolSize(sessionFactory));
+    }
+
+    public AsyncLibraryDAO(LibraryDAO libraryDAO, int maxConcurrentOperations) {
+        if (maxConcurrentOperations < 1) {
+            throw new IllegalArgumentException("Max concurrent operations must be a positive number.");
+        }
+        this.libraryDAO = libraryDAO;
+        this.executor = Executors.newFixedThreadPool(maxConcurrentOperations);
+    }
+
+    private static int connectionPoolSize(SessionFactory sessionFactory) {
+        Object poolSize = sessionFactory.getProperties().get(AvailableSettings.POOL_SIZE);
+
+        return poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize.toString());
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> inTransaction(Consumer<LibraryDAO> work) {
+        return supply(() -> libraryDAO.inTransaction(work));
+    }
+
+    public CompletableFuture<Void> addAuthor(Author author) {
+        return run(() -> libraryDAO.addAuthor(author));
+    }
+
+    public CompletableFuture<Void> addBookToAuthor(String authorName, Book book) {
+        return run(() -> libraryDAO.addBookToAuthor(authorName, book));
+    }
+
+    public CompletableFuture<Void> addAuthors(Collection<Author> authors) {
+        return run(() -> libraryDAO.addAuthors(authors));
+    }
+
+    public CompletableFuture<Void> addBooksToAuthors(Map<String, List<Book>> booksByAuthorName) {
+        return run(() -> libraryDAO.addBooksToAuthors(booksByAuthorName));
+    }
+
+    public CompletableFuture<List<Book>> getBooksOfAuthor(String authorName) {
+        return supply(() -> libraryDAO.getBooksOfAuthor(authorName));
+    }
+
+    public CompletableFuture<List<Book>> getBooksOfAuthor(String authorName, String entityGraphName) {
+        return supply(() -> libraryDAO.getBooksOfAuthor(authorName, entityGraphName));
+    }
+
+    public CompletableFuture<List<Author>> getAllAuthors() {
+        return supply(libraryDAO::getAllAuthors);
+    }
+
+    public CompletableFuture<List<Book>> getAllBooks() {
+        return supply(libraryDAO::getAllBooks);
+    }
+
+    public CompletableFuture<List<Book>> getAllBooks(String entityGraphName) {
+        return supply(() -> libraryDAO.getAllBooks(entityGraphName));
+    }
+
+    public CompletableFuture<List<BookSummary>> getBookSummariesOfAuthor(String authorName) {
+        return supply(() -> libraryDAO.getBookSummariesOfAuthor(authorName));
+    }
+
+    public CompletableFuture<List<BookSummary>> getAllBookSummaries() {
+        return supply(libraryDAO::getAllBookSummaries);
+    }
+
+    public CompletableFuture<List<AuthorSummary>> getAllAuthorSummaries() {
+        return supply(libraryDAO::getAllAuthorSummaries);
+    }
+
+    public CompletableFuture<Page<Author>> getAuthorsPage(long afterId, int limit) {
+        return supply(() -> libraryDAO.getAuthorsPage(afterId, limit));
+    }
+
+    public CompletableFuture<Page<Author>> getAuthorsPage(long afterId, int limit, String favouriteGenre) {
+        return supply(() -> libraryDAO.getAuthorsPage(afterId, limit, favouriteGenre));
+    }
+
+    public CompletableFuture<Page<Book>> getBooksPage(long afterId, int limit) {
+        return supply(() -> libraryDAO.getBooksPage(afterId, limit));
+    }
+
+    public CompletableFuture<Page<Book>> getBooksPage(long afterId, int limit, String genre, String authorName) {
+        return supply(() -> libraryDAO.getBooksPage(afterId, limit, genre, authorName));
+    }
+
+    public CompletableFuture<Void> streamAllAuthors(Consumer<Author> consumer) {
+        return run(() -> libraryDAO.streamAllAuthors(consumer));
+    }
+
+    public CompletableFuture<Void> streamAllBooks(Consumer<Book> consumer) {
+        return run(() -> libraryDAO.streamAllBooks(consumer));
+    }
+
+    public CompletableFuture<List<Object>> getAllBooksAndAuthors() {
+        return supply(libraryDAO::getAllBooksAndAuthors);
+    }
+
+    public CompletableFuture<Void> updateBookTitle(String theTitle, String newTitle) {
+        return run(() -> libraryDAO.updateBookTitle(theTitle, newTitle));
+    }
+
+    public CompletableFuture<Void> updateBookGenre(String theTitle, String newGenre) {
+        return run(() -> libraryDAO.updateBookGenre(theTitle, newGenre));
+    }
+
+    public CompletableFuture<Void> updateBookNumberOfPages(String theTitle, Integer newNumberOfPages) {
+        return run(() -> libraryDAO.updateBookNumberOfPages(theTitle, newNumberOfPages));
+    }
+
+    public CompletableFuture<Void> updateBookAuthor(String theTitle, Author newAuthor) {
+        return run(() -> libraryDAO.updateBookAuthor(theTitle, newAuthor));
+    }
+
+    public CompletableFuture<Void> updateBook(String theTitle, BookPatch patch) {
+        return run(() -> libraryDAO.updateBook(theTitle, patch));
+    }
+
+    public CompletableFuture<Void> updateAuthorName(String theAuthorName, String newAuthorName) {
+        return run(() -> libraryDAO.updateAuthorName(theAuthorName, newAuthorName));
+    }
+
+    public CompletableFuture<Void> updateAuthorAge(String theAuthorName, Integer newAge) {
+        return run(() -> libraryDAO.updateAuthorAge(theAuthorName, newAge));
+    }
+
+    public CompletableFuture<Void> updateAuthorFavouriteGenre(String theAuthorName, String newFavouriteGenre) {
+        return run(() -> libraryDAO.updateAuthorFavouriteGenre(theAuthorName, newFavouriteGenre));
+    }
+
+    public CompletableFuture<Void> updateAuthor(String theAuthorName, AuthorPatch patch) {
+        return run(() -> libraryDAO.updateAuthor(theAuthorName, patch));
+    }
+
+    public CompletableFuture<Void> deleteBook(String theTitle) {
+        return run(() -> libraryDAO.deleteBook(theTitle));
+    }
+
+    public CompletableFuture<Void> deleteAuthor(String theAuthorName) {
+        return run(() -> libraryDAO.deleteAuthor(theAuthorName));
+    }
+
+    public CompletableFuture<List<Book>> searchBooks(String query, int limit) {
+        return supply(() -> libraryDAO.searchBooks(query, limit));
+    }
+
+    public CompletableFuture<List<String>> suggestAuthors(String prefix, int limit) {
+        return supply(() -> libraryDAO.suggestAuthors(prefix, limit));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsFuzzy(String name, int maxEdits) {
+        return supply(() -> libraryDAO.findAuthorsFuzzy(name, maxEdits));
+    }
+
+    public CompletableFuture<List<Book>> findBooksFuzzy(String title, int maxEdits) {
+        return supply(() -> libraryDAO.findBooksFuzzy(title, maxEdits));
+    }
+
+    public CompletableFuture<Author> findAuthorByName(String authorName) {
+        return supply(() -> libraryDAO.findAuthorByName(authorName));
+    }
+
+    public CompletableFuture<List<Author>> findAuthorsByNames(Collection<String> authorNames) {
+        return supply(() -> libraryDAO.findAuthorsByNames(authorNames));
+    }
+
+    public CompletableFuture<Book> findBookByTitle(String bookTitle) {
+        return supply(() -> libraryDAO.findBookByTitle(bookTitle));
+    }
+
+    public CompletableFuture<List<Book>> findBooksByTitles(Collection<String> bookTitles) {
+        return supply(() -> libraryDAO.findBooksByTitles(bookTitles));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -1,21 +1,50 @@
 package pl.cebix;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = "name"))
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_ALL, query = "select a from Author a")
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_ALL_ORDERED_BY_ID, query = "select a from Author a order by a.id")
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_PAGE,
+        query = "select a from Author a where a.id > :afterId order by a.id")
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_PAGE_BY_FAVOURITE_GENRE,
+        query = "select a from Author a where a.id > :afterId and a.favouriteGenre = :favouriteGenre order by a.id")
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_SUMMARIES,
+        query = "select new pl.cebix.AuthorSummary(a.id, a.name, count(b)) from Author a left join a.books b group by a.id, a.name order by a.id")
+@NamedQuery(name = LibraryQueries.AUTHOR_FIND_TOP_BY_BOOK_COUNT,
+        query = "select new pl.cebix.AuthorSummary(a.id, a.name, count(b)) from Author a join a.books b group by a.id, a.name order by count(b) desc, a.name")
+@NamedQuery(name = LibraryQueries.AUTHOR_COUNT_BY_FAVOURITE_GENRE,
+        query = "select new pl.cebix.FavouriteGenreCount(a.favouriteGenre, count(a)) from Author a group by a.favouriteGenre order by a.favouriteGenre")
+@NamedQuery(name = LibraryQueries.AUTHOR_UPDATE_NAME, query = "update Author a set a.name = :newName where a.name = :name")
+@NamedQuery(name = LibraryQueries.AUTHOR_UPDATE_AGE, query = "update Author a set a.age = :newAge where a.name = :name")
+@NamedQuery(name = LibraryQueries.AUTHOR_UPDATE_FAVOURITE_GENRE,
+        query = "update Author a set a.favouriteGenre = :newFavouriteGenre where a.name = :name")
 public class Author {
     @Id
-    @GeneratedValue
+    @LibrarySequence(name = "Author_SEQ")
     private long id;
+    @NaturalId(mutable = true)
     private String name;
     private Integer age;
     private String favouriteGenre;
     @OneToMany(mappedBy = "author")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Book> books;
 
     public Author() {
@@ -0,0 +1,316 @@
+package pl.cebix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class AuthorNameTrie {
+    private static final char TERMINATOR = '\u0000';
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private String name;
+        private long bookCount;
+        private long maxBookCount;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private record Candidate(Node node, String path, boolean terminal) {
+        private long rank() {
+            return terminal ? node.bookCount : node.maxBookCount;
+        }
+    }
+
+    private static String keyOf(String name) {
+        return BookTitleIndex.fold(name) + TERMINATOR + name;
+    }
+
+    void add(String name) {
+        if (name != null) {
+            put(name, 0, false);
+        }
+    }
+
+    void put(String name, long bookCount) {
+        if (name != null) {
+            put(name, bookCount, true);
+        }
+    }
+
+    void addBooks(String name, long delta) {
+        if (name == null || delta == 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Node node = find(keyOf(name));
+            if (node != null) {
+                insert(root, keyOf(name), name, Math.max(0, node.bookCount + delta), true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String name) {
+        if (name == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (delete(root, keyOf(name))) {
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void rename(String oldName, String newName) {
+        if (oldName == null || newName == null || oldName.equals(newName)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Node node = find(keyOf(oldName));
+            if (node != null) {
+                long bookCount = node.bookCount;
+                delete(root, keyOf(oldName));
+                size--;
+                if (insert(root, keyOf(newName), newName, bookCount, true)) {
+                    size++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<String> suggest(String prefix, int limit) {
+        String remaining = BookTitleIndex.fold(prefix);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String path = "";
+            while (!remaining.isEmpty()) {
+                Node child = childStartingWith(node, remaining.charAt(0));
+                if (child == null) {
+                    return List.of();
+                }
+
+                int common = commonPrefixLength(child.label, remaining);
+                if (common < remaining.length() && common < child.label.length()) {
+                    return List.of();
+                }
+
+                path += child.label;
+                remaining = remaining.substring(common);
+                node = child;
+            }
+
+            return topByBookCount(node, path, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(String name, long bookCount, boolean replaceBookCount) {
+        lock.writeLock().lock();
+        try {
+            if (insert(root, keyOf(name), name, bookCount, replaceBookCount)) {
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> topByBookCount(Node start, String startPath, int limit) {
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingLong(Candidate::rank).reversed()
+                .thenComparing(Candidate::path));
+        candidates.add(new Candidate(start, startPath, false));
+        List<String> names = new ArrayList<>();
+
+        while (!candidates.isEmpty() && names.size() < limit) {
+            Candidate candidate = candidates.poll();
+            if (candidate.terminal()) {
+                names.add(candidate.node().name);
+                continue;
+            }
+
+            Node node = candidate.node();
+            if (node.name != null) {
+                candidates.add(new Candidate(node, candidate.path(), true));
+            }
+            for (Node child : node.children) {
+                candidates.add(new Candidate(child, candidate.path() + child.label, false));
+            }
+        }
+
+        return names;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        String remaining = key;
+        while (!remaining.isEmpty()) {
+            node = childStartingWith(node, remaining.charAt(0));
+            if (node == null || !remaining.startsWith(node.label)) {
+                return null;
+            }
+            remaining = remaining.substring(node.label.length());
+        }
+
+        return node.name == null ? null : node;
+    }
+
+    private boolean insert(Node node, String key, String name, long bookCount, boolean replaceBookCount) {
+        boolean inserted;
+        if (key.isEmpty()) {
+            inserted = node.name == null;
+            if (inserted || replaceBookCount) {
+                node.bookCount = bookCount;
+            }
+            node.name = name;
+        } else {
+            Node child = childStartingWith(node, key.charAt(0));
+            if (child == null) {
+                child = new Node(key);
+                addChild(node, child);
+            } else {
+                int common = commonPrefixLength(child.label, key);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+            }
+            inserted = insert(child, key.substring(child.label.length()), name, bookCount, replaceBookCount);
+        }
+
+        updateMaxBookCount(node);
+        return inserted;
+    }
+
+    private boolean delete(Node node, String key) {
+        if (key.isEmpty()) {
+            if (node.name == null) {
+                return false;
+            }
+            node.name = null;
+            node.bookCount = 0;
+            updateMaxBookCount(node);
+            return true;
+        }
+
+        Node child = childStartingWith(node, key.charAt(0));
+        if (child == null || !key.startsWith(child.label) || !delete(child, key.substring(child.label.length()))) {
+            return false;
+        }
+
+        if (child.name == null && child.children.length == 0) {
+            removeChild(node, child);
+        } else if (child.name == null && child.children.length == 1) {
+            Node grandchild = child.children[0];
+            grandchild.label = child.label + grandchild.label;
+            replaceChild(node, child, grandchild);
+        }
+        updateMaxBookCount(node);
+        return true;
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        replaceChild(parent, child, middle);
+        child.label = child.label.substring(at);
+        middle.children = new Node[] {child};
+        middle.maxBookCount = child.maxBookCount;
+
+        return middle;
+    }
+
+    private static void updateMaxBookCount(Node node) {
+        long max = node.name == null ? 0 : node.bookCount;
+        for (Node child : node.children) {
+            max = Math.max(max, child.maxBookCount);
+        }
+        node.maxBookCount = max;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleFirst = node.children[middle].label.charAt(0);
+            if (middleFirst < first) {
+                low = middle + 1;
+            } else if (middleFirst > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    private static Node childStartingWith(Node node, char first) {
+        int index = childIndex(node, first);
+
+        return index < 0 ? null : node.children[index];
+    }
+
+    private static void addChild(Node node, Node child) {
+        int insertionPoint = -(childIndex(node, child.label.charAt(0)) + 1);
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, insertionPoint);
+        children[insertionPoint] = child;
+        System.arraycopy(node.children, insertionPoint, children, insertionPoint + 1, node.children.length - insertionPoint);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        node.children = Arrays.stream(node.children)
+                .filter(existing -> existing != child)
+                .toArray(Node[]::new);
+    }
+
+    private static void replaceChild(Node node, Node oldChild, Node newChild) {
+        node.children[childIndex(node, oldChild.label.charAt(0))] = newChild;
+    }
+}
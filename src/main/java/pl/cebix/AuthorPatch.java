@@ -0,0 +1,19 @@
+package pl.cebix;
+
+public record AuthorPatch(String name, Integer age, String favouriteGenre) {
+    public static AuthorPatch ofName(String name) {
+        return new AuthorPatch(name, null, null);
+    }
+
+    public static AuthorPatch ofAge(Integer age) {
+        return new AuthorPatch(null, age, null);
+    }
+
+    public static AuthorPatch ofFavouriteGenre(String favouriteGenre) {
+        return new AuthorPatch(null, null, favouriteGenre);
+    }
+
+    public boolean isEmpty() {
+        return name == null && age == null && favouriteGenre == null;
+    }
+}
@@ -0,0 +1,4 @@
+package pl.cebix;
+
+public record AuthorSummary(long id, String name, long bookCount) {
+}
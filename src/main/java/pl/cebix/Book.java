@@ -1,15 +1,57 @@
 package pl.cebix;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@NamedEntityGraph(name = Book.WITH_AUTHOR_GRAPH, attributeNodes = @NamedAttributeNode("author"))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = "title"),
+        indexes = @Index(name = "idx_book_author_id", columnList = "author_id"))
+@NamedQuery(name = LibraryQueries.BOOK_FIND_ALL, query = "select b from Book b")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_ALL_ORDERED_BY_ID, query = "select b from Book b order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_BY_AUTHOR_NAME,
+        query = "select b from Book b where b.author.name = :authorName")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_PAGE,
+        query = "select b from Book b where b.id > :afterId order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_PAGE_BY_GENRE,
+        query = "select b from Book b where b.id > :afterId and b.genre = :genre order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_PAGE_BY_AUTHOR_NAME,
+        query = "select b from Book b where b.id > :afterId and b.author.name = :authorName order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_PAGE_BY_GENRE_AND_AUTHOR_NAME,
+        query = "select b from Book b where b.id > :afterId and b.genre = :genre and b.author.name = :authorName order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_SUMMARIES,
+        query = "select new pl.cebix.BookSummary(b.id, b.title, b.genre, b.numberOfPages, a.name) from Book b join b.author a order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_FIND_SUMMARIES_BY_AUTHOR_NAME,
+        query = "select new pl.cebix.BookSummary(b.id, b.title, b.genre, b.numberOfPages, a.name) from Book b join b.author a where a.name = :authorName order by b.id")
+@NamedQuery(name = LibraryQueries.BOOK_STATISTICS_BY_GENRE,
+        query = "select new pl.cebix.GenreStatistics(b.genre, count(b), sum(b.numberOfPages), avg(b.numberOfPages)) from Book b group by b.genre order by b.genre")
+@NamedQuery(name = LibraryQueries.BOOK_UPDATE_TITLE, query = "update Book b set b.title = :newTitle where b.title = :title")
+@NamedQuery(name = LibraryQueries.BOOK_UPDATE_GENRE, query = "update Book b set b.genre = :newGenre where b.title = :title")
+@NamedQuery(name = LibraryQueries.BOOK_UPDATE_NUMBER_OF_PAGES,
+        query = "update Book b set b.numberOfPages = :newNumberOfPages where b.title = :title")
+@NamedQuery(name = LibraryQueries.BOOK_UPDATE_AUTHOR, query = "update Book b set b.author = :newAuthor where b.title = :title")
 public class Book {
+    public static final String WITH_AUTHOR_GRAPH = "Book.withAuthor";
+
     @Id
-    @GeneratedValue
+    @LibrarySequence(name = "Book_SEQ")
     private long id;
+    @NaturalId(mutable = true)
     private String title;
     private String genre;
     private Integer numberOfPages;
@@ -0,0 +1,23 @@
+package pl.cebix;
+
+public record BookPatch(String title, String genre, Integer numberOfPages, Author author) {
+    public static BookPatch ofTitle(String title) {
+        return new BookPatch(title, null, null, null);
+    }
+
+    public static BookPatch ofGenre(String genre) {
+        return new BookPatch(null, genre, null, null);
+    }
+
+    public static BookPatch ofNumberOfPages(Integer numberOfPages) {
+        return new BookPatch(null, null, numberOfPages, null);
+    }
+
+    public static BookPatch ofAuthor(Author author) {
+        return new BookPatch(null, null, null, author);
+    }
+
+    public boolean isEmpty() {
+        return title == null && genre == null && numberOfPages == null && author == null;
+    }
+}
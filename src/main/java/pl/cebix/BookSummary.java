@@ -0,0 +1,4 @@
+package pl.cebix;
+
+public record BookSummary(long id, String title, String genre, Integer numberOfPages, String authorName) {
+}
@@ -0,0 +1,167 @@
+package pl.cebix;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class BookTitleIndex {
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, String> titles = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    static String fold(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        return Arrays.stream(fold(text).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    void add(Book book) {
+        if (book == null || book.getTitle() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(book.getId());
+            addUnlocked(book.getId(), book.getTitle());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void rename(String oldTitle, String newTitle) {
+        lock.writeLock().lock();
+        try {
+            Long bookId = findByExactTitleUnlocked(oldTitle);
+            if (bookId != null) {
+                removeUnlocked(bookId);
+                addUnlocked(bookId, newTitle);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Long idOf(String title) {
+        lock.readLock().lock();
+        try {
+            return findByExactTitleUnlocked(title);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Long> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            for (String queryToken : queryTokens) {
+                Set<Long> matches = new HashSet<>();
+                postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values().forEach(matches::addAll);
+
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Map<Long, Integer> exactMatches = new HashMap<>();
+            for (Long bookId : candidates) {
+                exactMatches.put(bookId, (int) queryTokens.stream()
+                        .filter(queryToken -> postings.getOrDefault(queryToken, Set.of()).contains(bookId))
+                        .count());
+            }
+
+            return candidates.stream()
+                    .sorted(Comparator.<Long>comparingInt(exactMatches::get).reversed()
+                            .thenComparingInt(bookId -> titles.get(bookId).length())
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return titles.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(long bookId, String title) {
+        titles.put(bookId, title);
+        for (String token : tokenize(title)) {
+            postings.computeIfAbsent(token, key -> new HashSet<>()).add(bookId);
+        }
+    }
+
+    private void removeUnlocked(long bookId) {
+        String title = titles.remove(bookId);
+        if (title == null) {
+            return;
+        }
+
+        for (String token : tokenize(title)) {
+            Set<Long> bookIds = postings.get(token);
+            bookIds.remove(bookId);
+            if (bookIds.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private Long findByExactTitleUnlocked(String title) {
+        List<String> tokens = tokenize(title);
+        if (tokens.isEmpty()) {
+            return titles.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(title))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        return postings.getOrDefault(tokens.get(0), Set.of()).stream()
+                .filter(bookId -> titles.get(bookId).equals(title))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package pl.cebix;
+
+import java.time.Duration;
+
+public record CacheRegion(String name, long maxEntries, Duration timeToLive) {
+    public CacheRegion {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Cache region's name cannot be null or empty.");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache region's max entries must be a positive number.");
+        }
+    }
+}
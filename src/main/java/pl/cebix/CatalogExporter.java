@@ -0,0 +1,201 @@
+package pl.cebix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+public class CatalogExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL = 1_000;
+
+    private static final List<Column<Author>> AUTHOR_COLUMNS = List.of(
+            new Column<>("id", Author::getId),
+            new Column<>("name", Author::getName),
+            new Column<>("age", Author::getAge),
+            new Column<>("favouriteGenre", Author::getFavouriteGenre)
+    );
+    private static final List<Column<Book>> BOOK_COLUMNS = List.of(
+            new Column<>("id", Book::getId),
+            new Column<>("title", Book::getTitle),
+            new Column<>("genre", Book::getGenre),
+            new Column<>("numberOfPages", Book::getNumberOfPages),
+            new Column<>("authorName", book -> book.getAuthor() == null ? null : book.getAuthor().getName())
+    );
+
+    private final LibraryDAO libraryDAO;
+
+    public enum Format {
+        CSV("csv"),
+        JSONL("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String fileName(String baseName, boolean gzip) {
+            return baseName + "." + extension + (gzip ? ".gz" : "");
+        }
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    public CatalogExporter(LibraryDAO libraryDAO) {
+        this.libraryDAO = libraryDAO;
+    }
+
+    public long exportCatalog(Path directory, Format format, boolean gzip, LongConsumer progress) throws IOException {
+        long authorRows = exportAuthors(directory.resolve(format.fileName("authors", gzip)), format, gzip, progress);
+        long bookRows = exportBooks(directory.resolve(format.fileName("books", gzip)), format, gzip,
+                progress == null ? null : rows -> progress.accept(authorRows + rows));
+
+        return authorRows + bookRows;
+    }
+
+    public long exportAuthors(Path target, Format format, boolean gzip, LongConsumer progress) throws IOException {
+        validateTarget(target, format);
+
+        try (Stream<Author> authors = libraryDAO.streamAllAuthors()) {
+            return export(authors.iterator(), AUTHOR_COLUMNS, target, format, gzip, progress);
+        }
+    }
+
+    public long exportBooks(Path target, Format format, boolean gzip, LongConsumer progress) throws IOException {
+        validateTarget(target, format);
+
+        try (Stream<Book> books = libraryDAO.streamAllBooks()) {
+            return export(books.iterator(), BOOK_COLUMNS, target, format, gzip, progress);
+        }
+    }
+
+    private void validateTarget(Path target, Format format) {
+        if (target == null || format == null) {
+            throw new IllegalArgumentException("Export target and format must be provided.");
+        }
+    }
+
+    private <T> long export(Iterator<T> rows, List<Column<T>> columns, Path target, Format format, boolean gzip, LongConsumer progress) throws IOException {
+        long count = 0;
+        try (Writer writer = openWriter(target, gzip)) {
+            StringBuilder line = new StringBuilder();
+
+            if (format == Format.CSV) {
+                for (Column<T> column : columns) {
+                    appendCsv(line, column.name(), column == columns.get(0));
+                }
+                writer.append(line).append('\n');
+            }
+
+            while (rows.hasNext()) {
+                T row = rows.next();
+                line.setLength(0);
+
+                if (format == Format.CSV) {
+                    for (Column<T> column : columns) {
+                        appendCsv(line, column.value().apply(row), column == columns.get(0));
+                    }
+                } else {
+                    appendJson(line, row, columns);
+                }
+                writer.append(line).append('\n');
+
+                if (++count % PROGRESS_INTERVAL == 0 && progress != null) {
+                    progress.accept(count);
+                }
+            }
+        }
+
+        if (progress != null && count % PROGRESS_INTERVAL != 0) {
+            progress.accept(count);
+        }
+        return count;
+    }
+
+    private static Writer openWriter(Path target, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            OutputStream out = Channels.newOutputStream(channel);
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void appendCsv(StringBuilder line, Object value, boolean first) {
+        if (!first) {
+            line.append(',');
+        }
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            line.append(text);
+            return;
+        }
+
+        line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    private static <T> void appendJson(StringBuilder line, T row, List<Column<T>> columns) {
+        line.append('{');
+        for (Column<T> column : columns) {
+            if (column != columns.get(0)) {
+                line.append(',');
+            }
+            appendJsonString(line, column.name());
+            line.append(':');
+
+            Object value = column.value().apply(row);
+            if (value == null || value instanceof Number) {
+                line.append(value);
+            } else {
+                appendJsonString(line, value.toString());
+            }
+        }
+        line.append('}');
+    }
+
+    private static void appendJsonString(StringBuilder line, String text) {
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
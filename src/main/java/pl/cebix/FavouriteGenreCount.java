@@ -0,0 +1,4 @@
+package pl.cebix;
+
+public record FavouriteGenreCount(String favouriteGenre, long authorCount) {
+}
@@ -0,0 +1,4 @@
+package pl.cebix;
+
+public record GenreStatistics(String genre, long bookCount, long totalNumberOfPages, double averageNumberOfPages) {
+}
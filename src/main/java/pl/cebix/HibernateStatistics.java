@@ -0,0 +1,92 @@
+package pl.cebix;
+
+import org.hibernate.stat.Statistics;
+
+public class HibernateStatistics implements HibernateStatisticsMXBean {
+    private final Statistics statistics;
+
+    public HibernateStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long getSessionOpenCount() {
+        return statistics.getSessionOpenCount();
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return statistics.getTransactionCount();
+    }
+
+    @Override
+    public long getConnectCount() {
+        return statistics.getConnectCount();
+    }
+
+    @Override
+    public long getPrepareStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Override
+    public long getQueryExecutionCount() {
+        return statistics.getQueryExecutionCount();
+    }
+
+    @Override
+    public long getQueryExecutionMaxTime() {
+        return statistics.getQueryExecutionMaxTime();
+    }
+
+    @Override
+    public String getQueryExecutionMaxTimeQueryString() {
+        return statistics.getQueryExecutionMaxTimeQueryString();
+    }
+
+    @Override
+    public long getEntityLoadCount() {
+        return statistics.getEntityLoadCount();
+    }
+
+    @Override
+    public long getEntityFetchCount() {
+        return statistics.getEntityFetchCount();
+    }
+
+    @Override
+    public long getCollectionLoadCount() {
+        return statistics.getCollectionLoadCount();
+    }
+
+    @Override
+    public long getCollectionFetchCount() {
+        return statistics.getCollectionFetchCount();
+    }
+
+    @Override
+    public double getSecondLevelCacheHitRatio() {
+        return hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Override
+    public double getNaturalIdCacheHitRatio() {
+        return hitRatio(statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount());
+    }
+
+    @Override
+    public double getQueryCacheHitRatio() {
+        return hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount());
+    }
+
+    @Override
+    public void clear() {
+        statistics.clear();
+    }
+}
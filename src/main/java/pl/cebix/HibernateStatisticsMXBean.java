@@ -0,0 +1,33 @@
+package pl.cebix;
+
+public interface HibernateStatisticsMXBean {
+    long getSessionOpenCount();
+
+    long getTransactionCount();
+
+    long getConnectCount();
+
+    long getPrepareStatementCount();
+
+    long getQueryExecutionCount();
+
+    long getQueryExecutionMaxTime();
+
+    String getQueryExecutionMaxTimeQueryString();
+
+    long getEntityLoadCount();
+
+    long getEntityFetchCount();
+
+    long getCollectionLoadCount();
+
+    long getCollectionFetchCount();
+
+    double getSecondLevelCacheHitRatio();
+
+    double getNaturalIdCacheHitRatio();
+
+    double getQueryCacheHitRatio();
+
+    void clear();
+}
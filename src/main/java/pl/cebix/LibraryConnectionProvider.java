@@ -0,0 +1,119 @@
+package pl.cebix;
+
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.Stoppable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LibraryConnectionProvider implements ConnectionProvider, Configurable, Stoppable, ServiceRegistryAwareService {
+    private static final long serialVersionUID = 1L;
+
+    private final transient DriverManagerConnectionProviderImpl delegate = new DriverManagerConnectionProviderImpl();
+
+    @Override
+    public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+        delegate.injectServices(serviceRegistry);
+    }
+
+    @Override
+    public void configure(Map<String, Object> settings) {
+        delegate.configure(settings);
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recordBinds(delegate.getConnection());
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        delegate.closeConnection(connection instanceof BindRecordingConnection recordingConnection ? recordingConnection.getDelegate() : connection);
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return delegate.supportsAggressiveRelease();
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this) || delegate.isUnwrappableAs(unwrapType);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.isInstance(this) ? unwrapType.cast(this) : delegate.unwrap(unwrapType);
+    }
+
+    static Connection recordBinds(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(LibraryConnectionProvider.class.getClassLoader(), new Class<?>[]{BindRecordingConnection.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getDelegate")) {
+                return connection;
+            }
+
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement) {
+                return recordBinds(statement);
+            }
+
+            return result;
+        });
+    }
+
+    private static PreparedStatement recordBinds(PreparedStatement statement) {
+        Class<?> statementType = statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+        Map<Integer, Object> binds = new TreeMap<>();
+        List<Map<Integer, Object>> batchBinds = new ArrayList<>();
+
+        return (PreparedStatement) Proxy.newProxyInstance(LibraryConnectionProvider.class.getClassLoader(), new Class<?>[]{statementType}, (proxy, method, args) -> {
+            String methodName = method.getName();
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds.put(index, args[1]);
+            } else if (methodName.equals("clearParameters")) {
+                binds.clear();
+            } else if (methodName.equals("addBatch") && args == null) {
+                batchBinds.add(new TreeMap<>(binds));
+            } else if (methodName.equals("clearBatch")) {
+                batchBinds.clear();
+            } else if (methodName.equals("executeBatch") || methodName.equals("executeLargeBatch")) {
+                LibrarySqlMonitor.bindsExecuted(batchBinds.toString());
+                batchBinds.clear();
+            } else if (methodName.startsWith("execute") && args == null) {
+                LibrarySqlMonitor.bindsExecuted(binds.toString());
+            }
+
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    interface BindRecordingConnection extends Connection {
+        Connection getDelegate();
+    }
+}
@@ -2,38 +2,150 @@ package pl.cebix;
 
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.Query;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class LibraryDAO {
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int DEFAULT_FETCH_SIZE = 500;
+    private static final int MAX_FUZZY_EDITS = 3;
+    public static final String BUILD_SEARCH_INDEXES_ON_STARTUP = "library.search.build_on_startup";
+
     private final SessionFactory sessionFactory;
+    private final ThreadLocal<LibraryUnitOfWork> currentUnitOfWork = new ThreadLocal<>();
+    private final LibraryMetrics metrics;
+    private final LibrarySearchIndexHolder searchIndexes;
+    private final int batchSize;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
 
     public LibraryDAO(SessionFactory sessionFactory) {
         this.sessionFactory = sessionFactory;
+        this.metrics = new LibraryMetrics(Boolean.parseBoolean(String.valueOf(sessionFactory.getProperties().get(LibraryMetrics.PUBLISH_JMX))));
+        this.searchIndexes = LibrarySearchIndexHolder.of(sessionFactory);
+        this.batchSize = batchSizeOf(sessionFactory);
+
+        if (Boolean.parseBoolean(String.valueOf(sessionFactory.getProperties().get(BUILD_SEARCH_INDEXES_ON_STARTUP)))) {
+            ensureSearchIndexesBuilt();
+        }
     }
 
-    public void addAuthor(Author author) {
+    private static int batchSizeOf(SessionFactory sessionFactory) {
+        Object batchSize = sessionFactory.getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        if (batchSize == null) {
+            return DEFAULT_BATCH_SIZE;
+        }
+
+        int configuredBatchSize = Integer.parseInt(String.valueOf(batchSize).trim());
+        return configuredBatchSize > 0 ? configuredBatchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    public LibraryMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be a positive number.");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean inTransaction(Consumer<LibraryDAO> work) {
+        try (LibraryOperation operation = metrics.start("inTransaction");
+             LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+            work.accept(this);
+
+            if (!unitOfWork.commit()) {
+                System.out.println("Unit of work has been rolled back because one of its operations failed.");
+                return false;
+            }
+
+            operation.succeeded();
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+    }
+
+    private LibraryUnitOfWork beginUnitOfWork() {
+        return LibraryUnitOfWork.begin(sessionFactory, currentUnitOfWork);
+    }
+
+    private <R> R inSession(Function<Session, R> work) {
+        LibraryUnitOfWork unitOfWork = currentUnitOfWork.get();
+        if (unitOfWork != null) {
+            return work.apply(unitOfWork.getSession());
+        }
+
         try (Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
+            return work.apply(session);
+        }
+    }
+
+    private <R> R inReadOnlySession(Function<Session, R> work) {
+        LibraryUnitOfWork unitOfWork = currentUnitOfWork.get();
+        if (unitOfWork != null) {
+            return work.apply(unitOfWork.getSession());
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+
+            return work.apply(session);
+        }
+    }
+
+    public void addAuthor(Author author) {
+        try (LibraryOperation operation = metrics.start("addAuthor", author == null ? null : author.getName());
+             LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+            Session session = unitOfWork.getSession();
             validateAuthor(author);
 
             session.merge(author);
-            transaction.commit();
+            unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> indexes.authorAdded(author.getName())));
+            operation.addRows(1);
+            unitOfWork.commit();
+            operation.succeeded();
         } catch (IllegalArgumentException e) {
             System.out.println(e.getMessage());
         }
     }
 
     public void addBookToAuthor(String authorName, Book book) {
-        try (Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
+        try (LibraryOperation operation = metrics.start("addBookToAuthor", authorName);
+             LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+            Session session = unitOfWork.getSession();
             Author author = findAuthorByName(authorName);
 
             if (author != null) {
@@ -43,190 +155,708 @@ public class LibraryDAO {
 
                 validateBook(book);
 
-                session.merge(book);
+                Book savedBook = session.merge(book);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> indexes.bookAdded(savedBook, author.getName())));
+                operation.addRows(1);
             }
 
-            transaction.commit();
+            unitOfWork.commit();
+            operation.succeeded();
         } catch (IllegalArgumentException | NoResultException e) {
             System.out.println(e.getMessage());
         }
     }
 
-    public List<Book> getBooksOfAuthor(String authorName) {
-        Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<Book> booksQuery = cb.createQuery(Book.class);
-        Root<Book> root = booksQuery.from(Book.class);
+    public void addAuthors(Collection<Author> authors) {
+        try (LibraryOperation operation = metrics.start("addAuthors")) {
+            if (authors == null) {
+                throw new IllegalArgumentException("Authors cannot be null.");
+            }
+            authors.forEach(this::validateAuthor);
+            validateDistinctAuthorNames(authors);
+
+            try (LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+                Session session = unitOfWork.getSession();
+                List<Object> batch = new ArrayList<>();
+                int count = 0;
+
+                for (Author author : authors) {
+                    session.persist(author);
+                    batch.add(author);
+                    flushAndClearIfBatchIsFull(unitOfWork, batch);
+                    count++;
+                }
+                operation.addRows(count);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> authors.forEach(author -> indexes.authorAdded(author.getName()))));
 
-        booksQuery.select(root).where(cb.equal(root.get("author").get("name"), authorName));
+                unitOfWork.commit();
+            }
+            operation.succeeded();
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-        List<Book> booksOfAuthor = session.createQuery(booksQuery).getResultList();
-        session.close();
+    public void addBooksToAuthors(Map<String, List<Book>> booksByAuthorName) {
+        try (LibraryOperation operation = metrics.start("addBooksToAuthors")) {
+            if (booksByAuthorName == null) {
+                throw new IllegalArgumentException("Books cannot be null.");
+            }
+            booksByAuthorName.forEach((authorName, books) -> {
+                validateAuthorName(authorName);
+                if (books == null) {
+                    throw new IllegalArgumentException("Books of author " + authorName + " cannot be null.");
+                }
+                books.forEach(this::validateBookWithoutAuthor);
+            });
+
+            try (LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+                Session session = unitOfWork.getSession();
+                Map<String, Author> authorsByName = findAuthorsByNames(session, booksByAuthorName.keySet());
+                for (String authorName : booksByAuthorName.keySet()) {
+                    if (!authorsByName.containsKey(authorName)) {
+                        throw new NoResultException("Author with name " + authorName + " was not found.");
+                    }
+                }
+                List<Object> batch = new ArrayList<>();
+                int count = 0;
+
+                for (Map.Entry<String, List<Book>> entry : booksByAuthorName.entrySet()) {
+                    long authorId = authorsByName.get(entry.getKey()).getId();
+
+                    for (Book book : entry.getValue()) {
+                        book.setAuthor(session.getReference(Author.class, authorId));
+                        session.persist(book);
+                        batch.add(book);
+                        flushAndClearIfBatchIsFull(unitOfWork, batch);
+                        count++;
+                    }
+                }
+                operation.addRows(count);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> booksByAuthorName.forEach((authorName, books) ->
+                        books.forEach(book -> indexes.bookAdded(book, authorsByName.get(authorName).getName())))));
 
-        return booksOfAuthor;
+                unitOfWork.commit();
+            }
+            operation.succeeded();
+        } catch (IllegalArgumentException | NoResultException e) {
+            System.out.println(e.getMessage());
+        }
     }
 
-    public List<Author> getAllAuthors() {
-        Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<Author> authorsQuery = cb.createQuery(Author.class);
-        Root<Author> root = authorsQuery.from(Author.class);
-        authorsQuery.select(root);
+    private void flushAndClearIfBatchIsFull(LibraryUnitOfWork unitOfWork, List<Object> batch) {
+        if (batch.size() < batchSize) {
+            return;
+        }
+
+        Session session = unitOfWork.getSession();
+        session.flush();
+        if (unitOfWork.ownsSession()) {
+            session.clear();
+        } else {
+            batch.forEach(session::detach);
+        }
+        batch.clear();
+    }
+
+    public List<Book> getBooksOfAuthor(String authorName) {
+        return getBooksOfAuthor(authorName, Book.WITH_AUTHOR_GRAPH);
+    }
 
-        return session.createQuery(authorsQuery).getResultList();
+    public List<Book> getBooksOfAuthor(String authorName, String entityGraphName) {
+        try (LibraryOperation operation = metrics.start("getBooksOfAuthor", authorName)) {
+            return operation.succeeded(inReadOnlySession(session -> withEntityGraph(session, session.createNamedQuery(LibraryQueries.BOOK_FIND_BY_AUTHOR_NAME, Book.class), entityGraphName)
+                    .setParameter("authorName", authorName)
+                    .getResultList()));
+        }
+    }
+
+    public List<Author> getAllAuthors() {
+        try (LibraryOperation operation = metrics.start("getAllAuthors")) {
+            return operation.succeeded(inReadOnlySession(session -> session.createNamedQuery(LibraryQueries.AUTHOR_FIND_ALL, Author.class).getResultList()));
+        }
     }
 
     public List<Book> getAllBooks() {
+        return getAllBooks(Book.WITH_AUTHOR_GRAPH);
+    }
+
+    public List<Book> getAllBooks(String entityGraphName) {
+        try (LibraryOperation operation = metrics.start("getAllBooks")) {
+            return operation.succeeded(inReadOnlySession(session -> withEntityGraph(session, session.createNamedQuery(LibraryQueries.BOOK_FIND_ALL, Book.class), entityGraphName)
+                    .getResultList()));
+        }
+    }
+
+    public List<BookSummary> getBookSummariesOfAuthor(String authorName) {
+        try (LibraryOperation operation = metrics.start("getBookSummariesOfAuthor", authorName)) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.BOOK_FIND_SUMMARIES_BY_AUTHOR_NAME, BookSummary.class)
+                    .setParameter("authorName", authorName)
+                    .getResultList()));
+        }
+    }
+
+    public List<BookSummary> getAllBookSummaries() {
+        try (LibraryOperation operation = metrics.start("getAllBookSummaries")) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.BOOK_FIND_SUMMARIES, BookSummary.class).getResultList()));
+        }
+    }
+
+    public List<AuthorSummary> getAllAuthorSummaries() {
+        try (LibraryOperation operation = metrics.start("getAllAuthorSummaries")) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.AUTHOR_FIND_SUMMARIES, AuthorSummary.class).getResultList()));
+        }
+    }
+
+    private <T> Query<T> withEntityGraph(Session session, Query<T> query, String entityGraphName) {
+        if (entityGraphName != null) {
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(entityGraphName));
+        }
+
+        return query;
+    }
+
+    public Page<Author> getAuthorsPage(long afterId, int limit) {
+        return getAuthorsPage(afterId, limit, null);
+    }
+
+    public Page<Author> getAuthorsPage(long afterId, int limit, String favouriteGenre) {
+        try (LibraryOperation operation = metrics.start("getAuthorsPage", String.valueOf(afterId))) {
+            validatePageLimit(limit);
+
+            return operation.succeeded(inSession(session -> {
+                Query<Author> authorsQuery;
+                if (favouriteGenre == null) {
+                    authorsQuery = session.createNamedQuery(LibraryQueries.AUTHOR_FIND_PAGE, Author.class);
+                } else {
+                    authorsQuery = session.createNamedQuery(LibraryQueries.AUTHOR_FIND_PAGE_BY_FAVOURITE_GENRE, Author.class)
+                            .setParameter("favouriteGenre", favouriteGenre);
+                }
+
+                List<Author> authors = authorsQuery.setParameter("afterId", afterId).setMaxResults(limit + 1).getResultList();
+
+                return toPage(authors, limit, Author::getId);
+            }));
+        }
+    }
+
+    public Page<Book> getBooksPage(long afterId, int limit) {
+        return getBooksPage(afterId, limit, null, null);
+    }
+
+    public Page<Book> getBooksPage(long afterId, int limit, String genre, String authorName) {
+        try (LibraryOperation operation = metrics.start("getBooksPage", String.valueOf(afterId))) {
+            validatePageLimit(limit);
+
+            return operation.succeeded(inSession(session -> {
+                Query<Book> booksQuery;
+                if (genre == null && authorName == null) {
+                    booksQuery = session.createNamedQuery(LibraryQueries.BOOK_FIND_PAGE, Book.class);
+                } else if (authorName == null) {
+                    booksQuery = session.createNamedQuery(LibraryQueries.BOOK_FIND_PAGE_BY_GENRE, Book.class)
+                            .setParameter("genre", genre);
+                } else if (genre == null) {
+                    booksQuery = session.createNamedQuery(LibraryQueries.BOOK_FIND_PAGE_BY_AUTHOR_NAME, Book.class)
+                            .setParameter("authorName", authorName);
+                } else {
+                    booksQuery = session.createNamedQuery(LibraryQueries.BOOK_FIND_PAGE_BY_GENRE_AND_AUTHOR_NAME, Book.class)
+                            .setParameter("genre", genre)
+                            .setParameter("authorName", authorName);
+                }
+
+                List<Book> books = withEntityGraph(session, booksQuery, Book.WITH_AUTHOR_GRAPH)
+                        .setParameter("afterId", afterId)
+                        .setMaxResults(limit + 1)
+                        .getResultList();
+
+                return toPage(books, limit, Book::getId);
+            }));
+        }
+    }
+
+    private <T> Page<T> toPage(List<T> items, int limit, ToLongFunction<T> idExtractor) {
+        if (items.size() <= limit) {
+            return new Page<>(items, null);
+        }
+
+        List<T> pageItems = items.subList(0, limit);
+
+        return new Page<>(new ArrayList<>(pageItems), idExtractor.applyAsLong(pageItems.get(limit - 1)));
+    }
+
+    private void validatePageLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be a positive number.");
+        }
+    }
+
+    public void streamAllAuthors(Consumer<Author> consumer) {
+        try (Stream<Author> authors = streamAllAuthors()) {
+            authors.forEach(consumer);
+        }
+    }
+
+    public Stream<Author> streamAllAuthors() {
+        return streamAll("streamAllAuthors", Author.class, LibraryQueries.AUTHOR_FIND_ALL_ORDERED_BY_ID, null);
+    }
+
+    public void streamAllBooks(Consumer<Book> consumer) {
+        try (Stream<Book> books = streamAllBooks()) {
+            books.forEach(consumer);
+        }
+    }
+
+    public Stream<Book> streamAllBooks() {
+        return streamAll("streamAllBooks", Book.class, LibraryQueries.BOOK_FIND_ALL_ORDERED_BY_ID, Book.WITH_AUTHOR_GRAPH);
+    }
+
+    private <T> Stream<T> streamAll(String operationName, Class<T> entityClass, String queryName, String entityGraphName) {
+        LibraryOperation operation = metrics.start(operationName);
         Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<Book> booksQuery = cb.createQuery(Book.class);
-        Root<Book> root = booksQuery.from(Book.class);
-        booksQuery.select(root);
 
-        return session.createQuery(booksQuery).getResultList();
+        try {
+            session.setDefaultReadOnly(true);
+            session.setCacheMode(CacheMode.IGNORE);
+            Transaction transaction = session.beginTransaction();
+            ScrollableResults<T> results = withEntityGraph(session, session.createNamedQuery(queryName, entityClass), entityGraphName)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            boolean[] failed = new boolean[1];
+
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!results.next()) {
+                            return false;
+                        }
+
+                        T entity = results.get();
+                        operation.addRows(1);
+                        session.clear();
+                        action.accept(entity);
+
+                        return true;
+                    } catch (RuntimeException | Error e) {
+                        failed[0] = true;
+                        throw e;
+                    }
+                }
+            };
+
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    results.close();
+                    if (failed[0]) {
+                        transaction.rollback();
+                    } else {
+                        transaction.commit();
+                        operation.succeeded();
+                    }
+                } finally {
+                    session.close();
+                    operation.close();
+                }
+            });
+        } catch (RuntimeException e) {
+            session.close();
+            operation.close();
+            throw e;
+        }
     }
 
     public List<Object> getAllBooksAndAuthors() {
-        List<Object> booksAndAuthors = new ArrayList<>();
+        try (LibraryOperation operation = metrics.start("getAllBooksAndAuthors")) {
+            List<Object> booksAndAuthors = new ArrayList<>();
 
-        List<Book> allBooks = getAllBooks();
-        booksAndAuthors.add(allBooks);
+            List<Book> allBooks = getAllBooks();
+            booksAndAuthors.add(allBooks);
 
-        List<Author> allAuthors = getAllAuthors();
-        booksAndAuthors.add(allAuthors);
+            List<Author> allAuthors = getAllAuthors();
+            booksAndAuthors.add(allAuthors);
+            operation.addRows(allBooks.size() + allAuthors.size());
 
-        return booksAndAuthors;
+            return operation.succeeded(booksAndAuthors);
+        }
     }
 
     public void updateBookTitle(String theTitle, String newTitle) {
-        updateBookField(theTitle, book -> book.setTitle(newTitle), this::validateBookTitle, newTitle);
+        updateBook("updateBookTitle", theTitle, BookPatch.ofTitle(newTitle), () -> validateBookTitle(newTitle),
+                session -> session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_TITLE).setParameter("newTitle", newTitle));
     }
 
     public void updateBookGenre(String theTitle, String newGenre) {
-        updateBookField(theTitle, book -> book.setGenre(newGenre), this::validateBookGenre, newGenre);
+        updateBook("updateBookGenre", theTitle, BookPatch.ofGenre(newGenre), () -> validateBookGenre(newGenre),
+                session -> session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_GENRE).setParameter("newGenre", newGenre));
     }
 
     public void updateBookNumberOfPages(String theTitle, Integer newNumberOfPages) {
-        updateBookField(theTitle, book -> book.setNumberOfPages(newNumberOfPages), this::validateBookNumberOfPages, newNumberOfPages);
+        updateBook("updateBookNumberOfPages", theTitle, BookPatch.ofNumberOfPages(newNumberOfPages), () -> validateBookNumberOfPages(newNumberOfPages),
+                session -> session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_NUMBER_OF_PAGES).setParameter("newNumberOfPages", newNumberOfPages));
     }
 
     public void updateBookAuthor(String theTitle, Author newAuthor) {
-        updateBookField(theTitle, book -> book.setAuthor(newAuthor), this::validateBookAuthor, newAuthor);
+        updateBook("updateBookAuthor", theTitle, BookPatch.ofAuthor(newAuthor), () -> validatePersistedBookAuthor(newAuthor),
+                session -> session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_AUTHOR)
+                        .setParameter("newAuthor", session.getReference(Author.class, newAuthor.getId())));
     }
 
-    private <T> void updateBookField(String theTitle, Consumer<Book> fieldUpdater, Consumer<T> validator, T value) {
-        try (Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
-            Book book = findBookByTitle(theTitle);
+    public void updateBook(String theTitle, BookPatch patch) {
+        updateBook("updateBook", theTitle, patch, () -> validateBookPatch(patch), session -> bookPatchUpdate(session, patch));
+    }
 
-            if (book != null) {
-                fieldUpdater.accept(book);
-                validator.accept(value);
-                session.merge(book);
-            }
+    private MutationQuery bookPatchUpdate(Session session, BookPatch patch) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaUpdate<Book> bookUpdate = cb.createCriteriaUpdate(Book.class);
+        Root<Book> root = bookUpdate.from(Book.class);
 
-            transaction.commit();
+        if (patch.title() != null) {
+            bookUpdate.set(root.<String>get("title"), patch.title());
+        }
+        if (patch.genre() != null) {
+            bookUpdate.set(root.<String>get("genre"), patch.genre());
+        }
+        if (patch.numberOfPages() != null) {
+            bookUpdate.set(root.<Integer>get("numberOfPages"), patch.numberOfPages());
+        }
+        if (patch.author() != null) {
+            bookUpdate.set(root.<Author>get("author"), session.getReference(Author.class, patch.author().getId()));
+        }
+        bookUpdate.where(cb.equal(root.get("title"), cb.parameter(String.class, "title")));
+
+        return session.createMutationQuery(bookUpdate);
+    }
+
+    private void updateBook(String operationName, String theTitle, BookPatch patch, Runnable validation, Function<Session, MutationQuery> update) {
+        try (LibraryOperation operation = metrics.start(operationName, theTitle)) {
+            validation.run();
+
+            try (LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+                int updatedRows = update.apply(unitOfWork.getSession()).setParameter("title", theTitle).executeUpdate();
+                if (updatedRows == 0) {
+                    throw new NoResultException("Book with title " + theTitle + " was not found.");
+                }
+                operation.addRows(updatedRows);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> {
+                    String title = patch.title() != null ? patch.title() : theTitle;
+                    if (patch.title() != null) {
+                        indexes.bookRenamed(theTitle, title);
+                    }
+                    if (patch.author() != null) {
+                        indexes.bookMoved(title, patch.author().getName());
+                    }
+                }));
+
+                unitOfWork.commit();
+            }
+            operation.succeeded();
         } catch (IllegalArgumentException | NoResultException e) {
             System.out.println(e.getMessage());
         }
     }
 
     public void updateAuthorName(String theAuthorName, String newAuthorName) {
-        updateAuthorField(theAuthorName, author -> author.setName(newAuthorName), this::validateAuthorName, newAuthorName);
+        updateAuthor("updateAuthorName", theAuthorName, AuthorPatch.ofName(newAuthorName), () -> validateAuthorName(newAuthorName),
+                session -> session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_NAME).setParameter("newName", newAuthorName));
     }
 
     public void updateAuthorAge(String theAuthorName, Integer newAge) {
-        updateAuthorField(theAuthorName, author -> author.setAge(newAge), this::validateAuthorAge, newAge);
+        updateAuthor("updateAuthorAge", theAuthorName, AuthorPatch.ofAge(newAge), () -> validateAuthorAge(newAge),
+                session -> session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_AGE).setParameter("newAge", newAge));
     }
 
     public void updateAuthorFavouriteGenre(String theAuthorName, String newFavouriteGenre) {
-        updateAuthorField(theAuthorName, author -> author.setFavouriteGenre(newFavouriteGenre), this::validateAuthorFavouriteGenre, newFavouriteGenre);
+        updateAuthor("updateAuthorFavouriteGenre", theAuthorName, AuthorPatch.ofFavouriteGenre(newFavouriteGenre), () -> validateAuthorFavouriteGenre(newFavouriteGenre),
+                session -> session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_FAVOURITE_GENRE).setParameter("newFavouriteGenre", newFavouriteGenre));
     }
 
-    private <T> void updateAuthorField(String theAuthorName, Consumer<Author> fieldUpdater, Consumer<T> validator, T value) {
-        try (Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
-            Author author = findAuthorByName(theAuthorName);
+    public void updateAuthor(String theAuthorName, AuthorPatch patch) {
+        updateAuthor("updateAuthor", theAuthorName, patch, () -> validateAuthorPatch(patch), session -> authorPatchUpdate(session, patch));
+    }
 
-            if (author != null) {
-                fieldUpdater.accept(author);
-                validator.accept(value);
-                session.merge(author);
-            }
+    private MutationQuery authorPatchUpdate(Session session, AuthorPatch patch) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaUpdate<Author> authorUpdate = cb.createCriteriaUpdate(Author.class);
+        Root<Author> root = authorUpdate.from(Author.class);
+
+        if (patch.name() != null) {
+            authorUpdate.set(root.<String>get("name"), patch.name());
+        }
+        if (patch.age() != null) {
+            authorUpdate.set(root.<Integer>get("age"), patch.age());
+        }
+        if (patch.favouriteGenre() != null) {
+            authorUpdate.set(root.<String>get("favouriteGenre"), patch.favouriteGenre());
+        }
+        authorUpdate.where(cb.equal(root.get("name"), cb.parameter(String.class, "name")));
+
+        return session.createMutationQuery(authorUpdate);
+    }
+
+    private void updateAuthor(String operationName, String theAuthorName, AuthorPatch patch, Runnable validation, Function<Session, MutationQuery> update) {
+        try (LibraryOperation operation = metrics.start(operationName, theAuthorName)) {
+            validation.run();
 
-            transaction.commit();
+            try (LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+                int updatedRows = update.apply(unitOfWork.getSession()).setParameter("name", theAuthorName).executeUpdate();
+                if (updatedRows == 0) {
+                    throw new NoResultException("Author with name " + theAuthorName + " was not found.");
+                }
+                operation.addRows(updatedRows);
+                if (patch.name() != null) {
+                    unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> indexes.authorRenamed(theAuthorName, patch.name())));
+                }
+
+                unitOfWork.commit();
+            }
+            operation.succeeded();
         } catch (IllegalArgumentException | NoResultException e) {
             System.out.println(e.getMessage());
         }
     }
 
     public void deleteBook(String theTitle) {
-        try(Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
+        try (LibraryOperation operation = metrics.start("deleteBook", theTitle);
+             LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+            Session session = unitOfWork.getSession();
             Book book = findBookByTitle(theTitle);
 
             if (book != null) {
                 session.remove(book);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> indexes.bookDeleted(book)));
+                operation.addRows(1);
             }
 
-            transaction.commit();
+            unitOfWork.commit();
+            operation.succeeded();
         } catch (NoResultException e){
             System.out.println(e.getMessage());
         }
     }
 
     public void deleteAuthor(String theAuthorName) {
-        try(Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
+        try (LibraryOperation operation = metrics.start("deleteAuthor", theAuthorName);
+             LibraryUnitOfWork unitOfWork = beginUnitOfWork()) {
+            Session session = unitOfWork.getSession();
             Author author = findAuthorByName(theAuthorName);
 
             if (author != null) {
                 session.remove(author);
+                unitOfWork.afterCommit(() -> searchIndexes.update(indexes -> indexes.authorDeleted(author.getName())));
+                operation.addRows(1);
             }
 
-            transaction.commit();
+            unitOfWork.commit();
+            operation.succeeded();
         } catch (NoResultException e){
             System.out.println(e.getMessage());
         }
     }
 
+    public List<Book> searchBooks(String query, int limit) {
+        try (LibraryOperation operation = metrics.start("searchBooks", query)) {
+            validateSearch(query, limit);
+            ensureSearchIndexesBuilt();
+
+            List<Long> bookIds = searchIndexes.get().searchBooks(query, limit);
+            if (bookIds.isEmpty()) {
+                return operation.succeeded(List.of());
+            }
+
+            return operation.succeeded(inReadOnlySession(session -> session.byMultipleIds(Book.class).multiLoad(bookIds).stream()
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+    }
+
+    public List<String> suggestAuthors(String prefix, int limit) {
+        try (LibraryOperation operation = metrics.start("suggestAuthors", prefix)) {
+            if (prefix == null) {
+                throw new IllegalArgumentException("Author name prefix cannot be null.");
+            }
+            if (limit < 1) {
+                throw new IllegalArgumentException("Suggestion limit must be a positive number.");
+            }
+            ensureSearchIndexesBuilt();
+
+            return operation.succeeded(searchIndexes.get().suggestAuthors(prefix, limit));
+        }
+    }
+
+    public List<Author> findAuthorsFuzzy(String name, int maxEdits) {
+        try (LibraryOperation operation = metrics.start("findAuthorsFuzzy", name)) {
+            if (name == null) {
+                throw new NoResultException("The name of the author must be provided.");
+            }
+            validateMaxEdits(maxEdits);
+            ensureSearchIndexesBuilt();
+
+            List<String> authorNames = searchIndexes.get().findAuthorNamesFuzzy(name, maxEdits);
+            if (authorNames.isEmpty()) {
+                return operation.succeeded(List.of());
+            }
+
+            return operation.succeeded(inReadOnlySession(session -> session.byMultipleNaturalId(Author.class).multiLoad(new ArrayList<>(authorNames)).stream()
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+    }
+
+    public List<Book> findBooksFuzzy(String title, int maxEdits) {
+        try (LibraryOperation operation = metrics.start("findBooksFuzzy", title)) {
+            if (title == null) {
+                throw new NoResultException("The title of the book must be provided.");
+            }
+            validateMaxEdits(maxEdits);
+            ensureSearchIndexesBuilt();
+
+            List<String> bookTitles = searchIndexes.get().findBookTitlesFuzzy(title, maxEdits);
+            if (bookTitles.isEmpty()) {
+                return operation.succeeded(List.of());
+            }
+
+            return operation.succeeded(inReadOnlySession(session -> session.byMultipleNaturalId(Book.class).multiLoad(new ArrayList<>(bookTitles)).stream()
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+    }
+
+    public void rebuildSearchIndexes() {
+        try (LibraryOperation operation = metrics.start("rebuildSearchIndexes")) {
+            operation.addRows(searchIndexes.rebuild(this::loadSearchIndexes));
+            operation.succeeded();
+        }
+    }
+
+    private void loadSearchIndexes(LibrarySearchIndexes rebuiltSearchIndexes) {
+        streamAllBooks(rebuiltSearchIndexes::indexBook);
+        getAllAuthorSummaries().forEach(summary -> rebuiltSearchIndexes.indexAuthor(summary.name()));
+    }
+
+    private void ensureSearchIndexesBuilt() {
+        searchIndexes.ensureBuilt(this::rebuildSearchIndexes);
+    }
+
     public Author findAuthorByName(String authorName) {
-        Author author;
-        if(authorName != null){
-            try (Session session = sessionFactory.openSession()) {
-                CriteriaBuilder cb = session.getCriteriaBuilder();
-                CriteriaQuery<Author> authorQuery = cb.createQuery(Author.class);
-                Root<Author> root = authorQuery.from(Author.class);
-                authorQuery.select(root).where(cb.equal(root.get("name"), authorName));
-                author = session.createQuery(authorQuery).getSingleResult();
-            } catch (NoResultException e) {
-                throw new NoResultException("Author with name " + authorName + " was not found.");
+        try (LibraryOperation operation = metrics.start("findAuthorByName", authorName)) {
+            Author author;
+            if(authorName != null){
+                author = inSession(session -> session.bySimpleNaturalId(Author.class).load(authorName));
+
+                if (author == null) {
+                    throw new NoResultException("Author with name " + authorName + " was not found.");
+                }
+            }
+            else {
+                throw new NoResultException("The name of the author must be provided.");
             }
+
+            return operation.succeeded(author);
         }
-        else {
-            throw new NoResultException("The name of the author must be provided.");
+    }
+
+    public List<Author> findAuthorsByNames(Collection<String> authorNames) {
+        try (LibraryOperation operation = metrics.start("findAuthorsByNames")) {
+            if (authorNames == null) {
+                throw new NoResultException("The names of the authors must be provided.");
+            }
+
+            Map<String, Author> authorsByName = inSession(session -> findAuthorsByNames(session, authorNames));
+            reportMissingKeys("Authors with names", authorNames, authorsByName);
+
+            return operation.succeeded(new ArrayList<>(authorsByName.values()));
         }
+    }
 
-        return author;
+    private Map<String, Author> findAuthorsByNames(Session session, Collection<String> authorNames) {
+        return findByNaturalIds(session, Author.class, Author::getName, authorNames);
+    }
+
+    private static <T> Map<String, T> findByNaturalIds(Session session, Class<T> entityClass, Function<T, String> naturalIdOf, Collection<String> naturalIds) {
+        List<String> distinctNaturalIds = new ArrayList<>(new LinkedHashSet<>(naturalIds));
+        Map<String, T> entitiesByNaturalId = new LinkedHashMap<>();
+        if (distinctNaturalIds.isEmpty()) {
+            return entitiesByNaturalId;
+        }
+
+        Map<String, T> loadedEntities = new HashMap<>();
+        for (T entity : session.byMultipleNaturalId(entityClass).enableOrderedReturn(false).multiLoad(distinctNaturalIds)) {
+            if (entity != null) {
+                loadedEntities.put(naturalIdOf.apply(entity), entity);
+            }
+        }
+        for (String naturalId : distinctNaturalIds) {
+            T entity = loadedEntities.get(naturalId);
+            if (entity != null) {
+                entitiesByNaturalId.put(naturalId, entity);
+            }
+        }
+
+        return entitiesByNaturalId;
+    }
+
+    private static void reportMissingKeys(String description, Collection<String> keys, Map<String, ?> found) {
+        Set<String> missingKeys = new LinkedHashSet<>(keys);
+        missingKeys.removeAll(found.keySet());
+
+        if (!missingKeys.isEmpty()) {
+            System.out.println(description + " " + missingKeys + " were not found.");
+        }
     }
 
     public Book findBookByTitle(String bookTitle) {
-        Book book = null;
-        if (bookTitle != null) {
-            try (Session session = sessionFactory.openSession()) {
-                CriteriaBuilder cb = session.getCriteriaBuilder();
-                CriteriaQuery<Book> bookQuery = cb.createQuery(Book.class);
-                Root<Book> root = bookQuery.from(Book.class);
-                bookQuery.select(root).where(cb.equal(root.get("title"), bookTitle));
-                book = session.createQuery(bookQuery).getSingleResult();
-            } catch (NoResultException e) {
-                System.out.println("Book with title " + bookTitle + " was not found.");
+        try (LibraryOperation operation = metrics.start("findBookByTitle", bookTitle)) {
+            Book book = null;
+            if (bookTitle != null) {
+                book = inSession(session -> session.bySimpleNaturalId(Book.class).load(bookTitle));
+
+                if (book == null) {
+                    System.out.println("Book with title " + bookTitle + " was not found.");
+                }
+            } else {
+                throw new NoResultException("The title of the book must be provided.");
             }
-        } else {
-            throw new NoResultException("The title of the book must be provided.");
+
+            return operation.succeeded(book);
+        }
+    }
+
+    public List<Book> findBooksByTitles(Collection<String> bookTitles) {
+        try (LibraryOperation operation = metrics.start("findBooksByTitles")) {
+            if (bookTitles == null) {
+                throw new NoResultException("The titles of the books must be provided.");
+            }
+
+            Map<String, Book> booksByTitle = inSession(session -> findByNaturalIds(session, Book.class, Book::getTitle, bookTitles));
+            reportMissingKeys("Books with titles", bookTitles, booksByTitle);
+
+            return operation.succeeded(new ArrayList<>(booksByTitle.values()));
         }
+    }
 
-        return book;
+    private void validateSearch(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be null or blank.");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be a positive number.");
+        }
+    }
+
+    private void validateMaxEdits(int maxEdits) {
+        if (maxEdits < 0 || maxEdits > MAX_FUZZY_EDITS) {
+            throw new IllegalArgumentException("Max edits must be a number between 0 and " + MAX_FUZZY_EDITS + ".");
+        }
+    }
+
+    private void validateDistinctAuthorNames(Collection<Author> authors) {
+        Set<String> authorNames = new HashSet<>();
+
+        for (Author author : authors) {
+            if (!authorNames.add(author.getName())) {
+                throw new IllegalArgumentException("Author with name " + author.getName() + " is given more than once.");
+            }
+        }
     }
 
     private void validateAuthor(Author author) {
@@ -238,6 +868,21 @@ public class LibraryDAO {
         validateAuthorFavouriteGenre(author.getFavouriteGenre());
     }
 
+    private void validateAuthorPatch(AuthorPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Author's patch must change at least one field.");
+        }
+        if (patch.name() != null) {
+            validateAuthorName(patch.name());
+        }
+        if (patch.age() != null) {
+            validateAuthorAge(patch.age());
+        }
+        if (patch.favouriteGenre() != null) {
+            validateAuthorFavouriteGenre(patch.favouriteGenre());
+        }
+    }
+
     private void validateAuthorName(String authorName) {
         if (authorName == null || authorName.isEmpty()) {
             throw new IllegalArgumentException("Author's name cannot be null or empty.");
@@ -257,13 +902,35 @@ public class LibraryDAO {
     }
 
     private void validateBook(Book book) {
+        validateBookWithoutAuthor(book);
+        validateBookAuthor(book.getAuthor());
+    }
+
+    private void validateBookWithoutAuthor(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null.");
         }
         validateBookTitle(book.getTitle());
         validateBookGenre(book.getGenre());
         validateBookNumberOfPages(book.getNumberOfPages());
-        validateBookAuthor(book.getAuthor());
+    }
+
+    private void validateBookPatch(BookPatch patch) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Book's patch must change at least one field.");
+        }
+        if (patch.title() != null) {
+            validateBookTitle(patch.title());
+        }
+        if (patch.genre() != null) {
+            validateBookGenre(patch.genre());
+        }
+        if (patch.numberOfPages() != null) {
+            validateBookNumberOfPages(patch.numberOfPages());
+        }
+        if (patch.author() != null) {
+            validatePersistedBookAuthor(patch.author());
+        }
     }
 
     private void validateBookTitle(String title) {
@@ -289,4 +956,11 @@ public class LibraryDAO {
             throw new IllegalArgumentException("Book's author cannot be null.");
         }
     }
+
+    private void validatePersistedBookAuthor(Author author) {
+        validateBookAuthor(author);
+        if (author.getId() == 0) {
+            throw new IllegalArgumentException("Book's author must be an existing author.");
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package pl.cebix;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LibraryMetrics {
+    public static final String PUBLISH_JMX = "library.jmx.enabled";
+    private static final String JMX_DOMAIN = "pl.cebix";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final String type;
+    private final int instance = INSTANCES.incrementAndGet();
+    private final boolean publishJmx;
+
+    public LibraryMetrics(boolean publishJmx) {
+        this("LibraryDAO", publishJmx);
+    }
+
+    public LibraryMetrics(String type, boolean publishJmx) {
+        this.type = type;
+        this.publishJmx = publishJmx;
+    }
+
+    LibraryOperation start(String operationName) {
+        return start(operationName, null);
+    }
+
+    LibraryOperation start(String operationName, String key) {
+        return operations.computeIfAbsent(operationName, this::createOperationMetrics).start(key);
+    }
+
+    public Map<String, OperationMetrics> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    private OperationMetrics createOperationMetrics(String operationName) {
+        OperationMetrics operationMetrics = new OperationMetrics(operationName);
+        if (publishJmx) {
+            registerMBean("type=" + type + ",instance=" + instance + ",operation=" + operationName, operationMetrics);
+        }
+
+        return operationMetrics;
+    }
+
+    static void registerMBean(String keyProperties, Object mBean) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":" + keyProperties);
+            mBeanServer.registerMBean(mBean, objectName);
+        } catch (JMException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    static void unregisterMBean(String keyProperties) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":" + keyProperties);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pl.cebix;
+
+import java.util.Collection;
+
+class LibraryOperation implements AutoCloseable {
+    private final OperationMetrics metrics;
+    private final LibraryOperationEvent event = new LibraryOperationEvent();
+    private final long startNanos;
+    private final long startStatementCount = LibrarySqlMonitor.getStatementCount();
+    private final long startStatementNanos = LibrarySqlMonitor.getStatementNanos();
+    private long rowCount;
+    private boolean succeeded;
+
+    LibraryOperation(OperationMetrics metrics, String key, long startNanos) {
+        this.metrics = metrics;
+        this.startNanos = startNanos;
+        event.key = key;
+        event.begin();
+    }
+
+    void addRows(long rows) {
+        rowCount += rows;
+    }
+
+    void succeeded() {
+        succeeded = true;
+    }
+
+    <T> T succeeded(T result) {
+        if (rowCount == 0) {
+            rowCount = rowCountOf(result);
+        }
+        succeeded = true;
+        return result;
+    }
+
+    private static long rowCountOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Page<?> page) {
+            return page.items().size();
+        }
+
+        return 1;
+    }
+
+    @Override
+    public void close() {
+        long statementCount = LibrarySqlMonitor.getStatementCount() - startStatementCount;
+        long statementNanos = LibrarySqlMonitor.getStatementNanos() - startStatementNanos;
+        metrics.record(System.nanoTime() - startNanos, succeeded, statementCount, statementNanos);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = metrics.getOperation();
+            event.rowCount = rowCount;
+            event.statementCount = statementCount;
+            event.statementNanos = statementNanos;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package pl.cebix;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("pl.cebix.LibraryOperation")
+@Label("Library Operation")
+@Category({"Library", "DAO"})
+@Description("A single LibraryDAO call")
+class LibraryOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    String key;
+
+    @Label("Row Count")
+    long rowCount;
+
+    @Label("Statements Executed")
+    long statementCount;
+
+    @Label("Statement Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long statementNanos;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,54 @@
+package pl.cebix;
+
+import java.util.List;
+
+public final class LibraryQueries {
+    public static final String AUTHOR_FIND_ALL = "Author.findAll";
+    public static final String AUTHOR_FIND_ALL_ORDERED_BY_ID = "Author.findAllOrderedById";
+    public static final String AUTHOR_FIND_PAGE = "Author.findPage";
+    public static final String AUTHOR_FIND_PAGE_BY_FAVOURITE_GENRE = "Author.findPageByFavouriteGenre";
+    public static final String AUTHOR_FIND_SUMMARIES = "Author.findSummaries";
+    public static final String AUTHOR_FIND_TOP_BY_BOOK_COUNT = "Author.findTopByBookCount";
+    public static final String AUTHOR_COUNT_BY_FAVOURITE_GENRE = "Author.countByFavouriteGenre";
+    public static final String AUTHOR_UPDATE_NAME = "Author.updateName";
+    public static final String AUTHOR_UPDATE_AGE = "Author.updateAge";
+    public static final String AUTHOR_UPDATE_FAVOURITE_GENRE = "Author.updateFavouriteGenre";
+
+    public static final String BOOK_FIND_ALL = "Book.findAll";
+    public static final String BOOK_FIND_ALL_ORDERED_BY_ID = "Book.findAllOrderedById";
+    public static final String BOOK_FIND_BY_AUTHOR_NAME = "Book.findByAuthorName";
+    public static final String BOOK_FIND_PAGE = "Book.findPage";
+    public static final String BOOK_FIND_PAGE_BY_GENRE = "Book.findPageByGenre";
+    public static final String BOOK_FIND_PAGE_BY_AUTHOR_NAME = "Book.findPageByAuthorName";
+    public static final String BOOK_FIND_PAGE_BY_GENRE_AND_AUTHOR_NAME = "Book.findPageByGenreAndAuthorName";
+    public static final String BOOK_FIND_SUMMARIES = "Book.findSummaries";
+    public static final String BOOK_FIND_SUMMARIES_BY_AUTHOR_NAME = "Book.findSummariesByAuthorName";
+    public static final String BOOK_STATISTICS_BY_GENRE = "Book.statisticsByGenre";
+    public static final String BOOK_UPDATE_TITLE = "Book.updateTitle";
+    public static final String BOOK_UPDATE_GENRE = "Book.updateGenre";
+    public static final String BOOK_UPDATE_NUMBER_OF_PAGES = "Book.updateNumberOfPages";
+    public static final String BOOK_UPDATE_AUTHOR = "Book.updateAuthor";
+
+    public static final List<String> NAMES = List.of(
+            AUTHOR_FIND_ALL,
+            AUTHOR_FIND_ALL_ORDERED_BY_ID,
+            AUTHOR_FIND_PAGE,
+            AUTHOR_FIND_PAGE_BY_FAVOURITE_GENRE,
+            AUTHOR_FIND_SUMMARIES,
+            AUTHOR_FIND_TOP_BY_BOOK_COUNT,
+            AUTHOR_COUNT_BY_FAVOURITE_GENRE,
+            BOOK_FIND_ALL,
+            BOOK_FIND_ALL_ORDERED_BY_ID,
+            BOOK_FIND_BY_AUTHOR_NAME,
+            BOOK_FIND_PAGE,
+            BOOK_FIND_PAGE_BY_GENRE,
+            BOOK_FIND_PAGE_BY_AUTHOR_NAME,
+            BOOK_FIND_PAGE_BY_GENRE_AND_AUTHOR_NAME,
+            BOOK_FIND_SUMMARIES,
+            BOOK_FIND_SUMMARIES_BY_AUTHOR_NAME,
+            BOOK_STATISTICS_BY_GENRE
+    );
+
+    private LibraryQueries() {
+    }
+}
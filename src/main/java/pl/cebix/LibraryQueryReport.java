@@ -0,0 +1,57 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.sqm.internal.QuerySqmImpl;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LibraryQueryReport {
+    public static final String REPORT_QUERIES = "library.query.report";
+
+    public static Map<String, String> compileNamedQueries(SessionFactory sessionFactory) {
+        return compileNamedQueries(sessionFactory, LibraryQueries.NAMES);
+    }
+
+    static Map<String, String> compileNamedQueries(SessionFactory sessionFactory, List<String> queryNames) {
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, String> sqlByQueryName = new LinkedHashMap<>();
+
+        try (Session session = sessionFactory.openSession()) {
+            for (String queryName : queryNames) {
+                try {
+                    sqlByQueryName.put(queryName, compileNamedQuery(factory, session, queryName));
+                } catch (RuntimeException e) {
+                    System.out.println("Could not compile named query " + queryName + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return sqlByQueryName;
+    }
+
+    private static String compileNamedQuery(SessionFactoryImplementor factory, Session session, String queryName) {
+        QuerySqmImpl<?> query = session.createNamedQuery(queryName, Object.class).unwrap(QuerySqmImpl.class);
+        SelectStatement sqlAst = factory.getQueryEngine().getSqmTranslatorFactory()
+                .createSelectTranslator((SqmSelectStatement<?>) query.getSqmStatement(), query.getQueryOptions(), query.getDomainParameterXref(),
+                        query.getQueryParameterBindings(), query.getLoadQueryInfluencers(), factory, false)
+                .translate()
+                .getSqlAst();
+
+        return factory.getJdbcServices().getJdbcEnvironment().getSqlAstTranslatorFactory()
+                .buildSelectTranslator(factory, sqlAst)
+                .translate(JdbcParameterBindings.NO_BINDINGS, query.getQueryOptions())
+                .getSqlString();
+    }
+
+    public static void print(SessionFactory sessionFactory) {
+        System.out.println("Named queries compiled at startup:");
+        compileNamedQueries(sessionFactory).forEach((queryName, sql) -> System.out.println("  " + queryName + " -> " + sql));
+    }
+}
@@ -0,0 +1,60 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LibrarySchemaCheck {
+    public static final String VERIFY_INDEXES = "library.schema.verify_indexes";
+
+    private static final List<RequiredIndex> REQUIRED_INDEXES = List.of(
+            new RequiredIndex("author", "name", true),
+            new RequiredIndex("book", "title", true),
+            new RequiredIndex("book", "author_id", false)
+    );
+
+    public static void verifyIndexes(SessionFactory sessionFactory) {
+        List<RequiredIndex> missingIndexes = new ArrayList<>();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                for (RequiredIndex index : REQUIRED_INDEXES) {
+                    if (!hasIndex(metaData, index)) {
+                        missingIndexes.add(index);
+                    }
+                }
+            });
+        }
+
+        if (!missingIndexes.isEmpty()) {
+            throw new IllegalStateException("Required indexes are missing in the database: " + missingIndexes);
+        }
+    }
+
+    private static boolean hasIndex(DatabaseMetaData metaData, RequiredIndex index) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? index.table().toUpperCase() : index.table();
+
+        try (ResultSet indexInfo = metaData.getIndexInfo(null, null, tableName, index.unique(), false)) {
+            while (indexInfo.next()) {
+                if (indexInfo.getShort("ORDINAL_POSITION") == 1 && index.column().equalsIgnoreCase(indexInfo.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private record RequiredIndex(String table, String column, boolean unique) {
+        @Override
+        public String toString() {
+            return (unique ? "unique index on " : "index on ") + table + "(" + column + ")";
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+class LibrarySearchIndexHolder {
+    private static final Map<SessionFactory, LibrarySearchIndexHolder> HOLDERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Object rebuildLock = new Object();
+    private volatile LibrarySearchIndexes searchIndexes = new LibrarySearchIndexes();
+    private volatile boolean built;
+    private List<Consumer<LibrarySearchIndexes>> changesDuringRebuild;
+
+    static LibrarySearchIndexHolder of(SessionFactory sessionFactory) {
+        return HOLDERS.computeIfAbsent(sessionFactory, key -> new LibrarySearchIndexHolder());
+    }
+
+    LibrarySearchIndexes get() {
+        return searchIndexes;
+    }
+
+    synchronized void update(Consumer<LibrarySearchIndexes> change) {
+        change.accept(searchIndexes);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    int rebuild(Consumer<LibrarySearchIndexes> loader) {
+        synchronized (rebuildLock) {
+            LibrarySearchIndexes rebuiltSearchIndexes = new LibrarySearchIndexes();
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            try {
+                loader.accept(rebuiltSearchIndexes);
+
+                synchronized (this) {
+                    changesDuringRebuild.forEach(change -> change.accept(rebuiltSearchIndexes));
+                    searchIndexes = rebuiltSearchIndexes;
+                    built = true;
+                }
+                return rebuiltSearchIndexes.size();
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    void ensureBuilt(Runnable rebuild) {
+        if (!built) {
+            synchronized (rebuildLock) {
+                if (!built) {
+                    rebuild.run();
+                }
+            }
+        }
+    }
+}
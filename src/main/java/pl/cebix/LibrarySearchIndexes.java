@@ -0,0 +1,128 @@
+package pl.cebix;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class LibrarySearchIndexes {
+    private final BookTitleIndex titleIndex = new BookTitleIndex();
+    private final AuthorNameTrie authorNameTrie = new AuthorNameTrie();
+    private final TrigramIndex authorNameTrigrams = new TrigramIndex();
+    private final TrigramIndex bookTitleTrigrams = new TrigramIndex();
+    private final Map<Long, String> authorNameByBookId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> bookIdsByAuthorName = new ConcurrentHashMap<>();
+
+    List<Long> searchBooks(String query, int limit) {
+        return titleIndex.search(query, limit);
+    }
+
+    List<String> suggestAuthors(String prefix, int limit) {
+        return authorNameTrie.suggest(prefix, limit);
+    }
+
+    List<String> findAuthorNamesFuzzy(String name, int maxEdits) {
+        return authorNameTrigrams.search(name, maxEdits);
+    }
+
+    List<String> findBookTitlesFuzzy(String title, int maxEdits) {
+        return bookTitleTrigrams.search(title, maxEdits);
+    }
+
+    int size() {
+        return titleIndex.size() + authorNameTrie.size();
+    }
+
+    void indexAuthor(String name) {
+        authorNameTrie.add(name);
+        authorNameTrigrams.add(name);
+    }
+
+    void indexBook(Book book) {
+        String authorName = book.getAuthor() == null ? null : book.getAuthor().getName();
+        authorNameTrie.add(authorName);
+        bookAdded(book, authorName);
+    }
+
+    void authorAdded(String name) {
+        authorNameTrie.add(name);
+        authorNameTrigrams.add(name);
+    }
+
+    void authorRenamed(String oldName, String newName) {
+        authorNameTrie.rename(oldName, newName);
+        authorNameTrigrams.rename(oldName, newName);
+
+        Set<Long> bookIds = oldName == null ? null : bookIdsByAuthorName.remove(oldName);
+        if (bookIds != null && newName != null) {
+            bookIds.forEach(bookId -> authorNameByBookId.put(bookId, newName));
+            bookIdsByAuthorName.merge(newName, bookIds, (existingBookIds, renamedBookIds) -> {
+                existingBookIds.addAll(renamedBookIds);
+                return existingBookIds;
+            });
+        }
+    }
+
+    void authorDeleted(String name) {
+        authorNameTrie.remove(name);
+        authorNameTrigrams.remove(name);
+
+        Set<Long> bookIds = name == null ? null : bookIdsByAuthorName.remove(name);
+        if (bookIds != null) {
+            bookIds.forEach(authorNameByBookId::remove);
+        }
+    }
+
+    void bookAdded(Book book, String authorName) {
+        if (book != null) {
+            titleIndex.add(book);
+            bookTitleTrigrams.add(book.getTitle());
+            if (book.getTitle() != null && authorName != null) {
+                moveBook(book.getId(), authorName);
+                return;
+            }
+        }
+        authorNameTrie.addBooks(authorName, 1);
+    }
+
+    void bookRenamed(String oldTitle, String newTitle) {
+        titleIndex.rename(oldTitle, newTitle);
+        bookTitleTrigrams.rename(oldTitle, newTitle);
+    }
+
+    void bookMoved(String title, String newAuthorName) {
+        Long bookId = title == null ? null : titleIndex.idOf(title);
+        if (bookId != null && newAuthorName != null) {
+            moveBook(bookId, newAuthorName);
+        }
+    }
+
+    void bookDeleted(Book book) {
+        titleIndex.remove(book.getId());
+        bookTitleTrigrams.remove(book.getTitle());
+        moveBook(book.getId(), null);
+    }
+
+    private void moveBook(long bookId, String newAuthorName) {
+        String oldAuthorName = newAuthorName == null ? authorNameByBookId.remove(bookId) : authorNameByBookId.put(bookId, newAuthorName);
+        if (Objects.equals(oldAuthorName, newAuthorName)) {
+            return;
+        }
+
+        if (oldAuthorName != null) {
+            Set<Long> bookIds = bookIdsByAuthorName.get(oldAuthorName);
+            if (bookIds != null) {
+                bookIds.remove(bookId);
+                if (bookIds.isEmpty()) {
+                    bookIdsByAuthorName.remove(oldAuthorName);
+                }
+            }
+        }
+        if (newAuthorName != null) {
+            bookIdsByAuthorName.computeIfAbsent(newAuthorName, key -> ConcurrentHashMap.newKeySet()).add(bookId);
+        }
+        authorNameTrie.addBooks(oldAuthorName, -1);
+        authorNameTrie.addBooks(newAuthorName, 1);
+    }
+}
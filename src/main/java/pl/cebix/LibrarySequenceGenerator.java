@@ -0,0 +1,29 @@
+package pl.cebix;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+public class LibrarySequenceGenerator extends SequenceStyleGenerator {
+    private static final long serialVersionUID = 1L;
+
+    public static final String ALLOCATION_SIZE = "library.id.allocation_size";
+
+    private static final String DEFAULT_ALLOCATION_SIZE = "50";
+
+    public LibrarySequenceGenerator(LibrarySequence sequence, Member member, CustomIdGeneratorCreationContext context) {
+        ConfigurationService configurationService = context.getServiceRegistry().getService(ConfigurationService.class);
+        Properties parameters = new Properties();
+        parameters.putAll(configurationService.getSettings());
+        parameters.setProperty(SequenceStyleGenerator.SEQUENCE_PARAM, sequence.name());
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM,
+                configurationService.getSetting(ALLOCATION_SIZE, StandardConverters.STRING, DEFAULT_ALLOCATION_SIZE));
+
+        configure(context.getRootClass().getIdentifier().getType(), parameters, context.getServiceRegistry());
+    }
+}
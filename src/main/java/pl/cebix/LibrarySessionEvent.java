@@ -0,0 +1,33 @@
+package pl.cebix;
+
+import jdk.jfr.Category;
+import jdk.jfr.Timespan;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.cebix.LibrarySession")
+@Label("Library Session")
+@Category({"Library", "Hibernate"})
+@Description("A Hibernate session, from open to close")
+class LibrarySessionEvent extends Event {
+    @Label("Statements Executed")
+    long statementCount;
+
+    @Label("Flushes")
+    long flushCount;
+
+    @Label("Entities Flushed")
+    long flushedEntityCount;
+
+    @Label("Transactions")
+    long transactionCount;
+
+    @Label("JDBC Connection Acquired")
+    long connectionAcquisitionCount;
+
+    @Label("Statement Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long statementNanos;
+}
@@ -0,0 +1,78 @@
+package pl.cebix;
+
+import org.hibernate.SessionEventListener;
+
+public class LibrarySessionEventListener implements SessionEventListener {
+    private static final long serialVersionUID = 1L;
+
+    private final LibrarySessionEvent sessionEvent = new LibrarySessionEvent();
+    private LibraryTransactionEvent transactionEvent = new LibraryTransactionEvent();
+    private long executeStatementStartNanos;
+
+    public LibrarySessionEventListener() {
+        sessionEvent.begin();
+        transactionEvent.begin();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        sessionEvent.connectionAcquisitionCount++;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStatementStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementExecuted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStatementStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementExecuted();
+    }
+
+    private void statementExecuted() {
+        long elapsedNanos = System.nanoTime() - executeStatementStartNanos;
+
+        sessionEvent.statementCount++;
+        sessionEvent.statementNanos += elapsedNanos;
+        LibrarySqlMonitor.statementExecuted(elapsedNanos);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        sessionEvent.flushCount++;
+        sessionEvent.flushedEntityCount += numberOfEntities;
+        transactionEvent.flushedEntityCount += numberOfEntities;
+    }
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        sessionEvent.transactionCount++;
+
+        transactionEvent.end();
+        if (transactionEvent.shouldCommit()) {
+            transactionEvent.committed = successful;
+            transactionEvent.commit();
+        }
+
+        transactionEvent = new LibraryTransactionEvent();
+        transactionEvent.begin();
+    }
+
+    @Override
+    public void end() {
+        sessionEvent.end();
+        if (sessionEvent.shouldCommit()) {
+            sessionEvent.commit();
+        }
+    }
+}
@@ -1,13 +1,194 @@
 package pl.cebix;
 
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class LibrarySessionFactory {
+    public static final String AUTHOR_REGION = "pl.cebix.Author";
+    public static final String AUTHOR_NATURAL_ID_REGION = "pl.cebix.Author##NaturalId";
+    public static final String AUTHOR_BOOKS_REGION = "pl.cebix.Author.books";
+    public static final String BOOK_REGION = "pl.cebix.Book";
+    public static final String BOOK_NATURAL_ID_REGION = "pl.cebix.Book##NaturalId";
+    public static final String STARTUP_REPORT = "library.startup.report";
+
+    private static final Set<String> SCHEMA_MODES = Set.of("validate", "none", "update", "create");
+    private static final Map<String, String> ENVIRONMENT_SETTINGS = Map.of(
+            "LIBRARY_DB_URL", "hibernate.connection.url",
+            "LIBRARY_DB_USERNAME", "hibernate.connection.username",
+            "LIBRARY_DB_PASSWORD", "hibernate.connection.password",
+            "LIBRARY_DB_POOL_SIZE", AvailableSettings.POOL_SIZE,
+            "LIBRARY_SCHEMA_MODE", AvailableSettings.HBM2DDL_AUTO
+    );
+
+    private static volatile SessionFactory sharedSessionFactory;
+
+    public static final List<CacheRegion> DEFAULT_CACHE_REGIONS = List.of(
+            new CacheRegion(AUTHOR_REGION, 10_000, Duration.ofMinutes(30)),
+            new CacheRegion(AUTHOR_NATURAL_ID_REGION, 10_000, Duration.ofMinutes(30)),
+            new CacheRegion(AUTHOR_BOOKS_REGION, 10_000, Duration.ofMinutes(30)),
+            new CacheRegion(BOOK_REGION, 50_000, Duration.ofMinutes(30)),
+            new CacheRegion(BOOK_NATURAL_ID_REGION, 50_000, Duration.ofMinutes(30))
+    );
+
     public static SessionFactory getAuthorSessionFactory() {
+        SessionFactory sessionFactory = sharedSessionFactory;
+        if (sessionFactory == null || sessionFactory.isClosed()) {
+            synchronized (LibrarySessionFactory.class) {
+                sessionFactory = sharedSessionFactory;
+                if (sessionFactory == null || sessionFactory.isClosed()) {
+                    sessionFactory = getAuthorSessionFactory(DEFAULT_CACHE_REGIONS);
+                    sharedSessionFactory = sessionFactory;
+                }
+            }
+        }
+
+        return sessionFactory;
+    }
+
+    public static SessionFactory getAuthorSessionFactory(List<CacheRegion> cacheRegions) {
+        return getAuthorSessionFactory(cacheRegions, Map.of());
+    }
+
+    public static SessionFactory getAuthorSessionFactory(Map<String, String> settings) {
+        return getAuthorSessionFactory(DEFAULT_CACHE_REGIONS, settings);
+    }
+
+    public static SessionFactory getAuthorSessionFactory(List<CacheRegion> cacheRegions, Map<String, String> settings) {
+        Map<String, Long> startupPhases = new LinkedHashMap<>();
+        long phaseStart = System.nanoTime();
+
         Configuration configuration = new Configuration();
         configuration.configure("/hibernate.cfg.xml");
+        externalSettings().forEach(configuration::setProperty);
+        settings.forEach(configuration::setProperty);
+        validateSchemaMode(configuration.getProperty(AvailableSettings.HBM2DDL_AUTO));
+        configuration.getProperties().putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, LibrarySessionEventListener.class.getName());
+        configuration.getProperties().putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new LibrarySqlMonitor(configuration.getProperty(LibrarySqlMonitor.SLOW_STATEMENT_THRESHOLD)));
+        phaseStart = recordStartupPhase(startupPhases, "configuration", phaseStart);
+
+        configuration.getProperties().put(ConfigSettings.CACHE_MANAGER, createCacheManager(cacheRegions));
+        phaseStart = recordStartupPhase(startupPhases, "cache", phaseStart);
+        if (Boolean.parseBoolean(configuration.getProperty(LibraryMetrics.PUBLISH_JMX))) {
+            configuration.setSessionFactoryObserver(new SessionFactoryObserver() {
+                @Override
+                public void sessionFactoryCreated(SessionFactory factory) {
+                    LibraryMetrics.registerMBean(statisticsMBeanName(factory), new HibernateStatistics(factory.getStatistics()));
+                }
+
+                @Override
+                public void sessionFactoryClosed(SessionFactory factory) {
+                    LibraryMetrics.unregisterMBean(statisticsMBeanName(factory));
+                }
+            });
+        }
+
+        SessionFactory sessionFactory = configuration.buildSessionFactory();
+        phaseStart = recordStartupPhase(startupPhases, "session factory", phaseStart);
+
+        if (Boolean.parseBoolean(configuration.getProperty(LibrarySchemaCheck.VERIFY_INDEXES))) {
+            try {
+                LibrarySchemaCheck.verifyIndexes(sessionFactory);
+            } catch (RuntimeException e) {
+                sessionFactory.close();
+                throw e;
+            }
+            phaseStart = recordStartupPhase(startupPhases, "index check", phaseStart);
+        }
+        if (Boolean.parseBoolean(configuration.getProperty(LibraryQueryReport.REPORT_QUERIES))) {
+            try {
+                LibraryQueryReport.print(sessionFactory);
+            } catch (RuntimeException e) {
+                System.out.println(e.getMessage());
+            }
+            recordStartupPhase(startupPhases, "query report", phaseStart);
+        }
+
+        if (Boolean.parseBoolean(configuration.getProperty(STARTUP_REPORT))) {
+            printStartupReport(startupPhases, configuration.getProperty(AvailableSettings.HBM2DDL_AUTO));
+        }
+
+        return sessionFactory;
+    }
+
+    private static Map<String, String> externalSettings() {
+        Map<String, String> externalSettings = new HashMap<>();
+
+        System.getProperties().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith("hibernate.") || name.startsWith("library.")) {
+                externalSettings.put(name, value.toString());
+            }
+        });
+        ENVIRONMENT_SETTINGS.forEach((variable, setting) -> {
+            String value = System.getenv(variable);
+            if (value != null) {
+                externalSettings.put(setting, value);
+            }
+        });
+
+        return externalSettings;
+    }
+
+    private static void validateSchemaMode(String schemaMode) {
+        if (schemaMode != null && !SCHEMA_MODES.contains(schemaMode)) {
+            throw new IllegalArgumentException("Schema mode " + schemaMode + " is not supported. Use one of: validate, none, update, create.");
+        }
+    }
+
+    private static long recordStartupPhase(Map<String, Long> startupPhases, String phase, long phaseStart) {
+        long now = System.nanoTime();
+        startupPhases.put(phase, TimeUnit.NANOSECONDS.toMillis(now - phaseStart));
+
+        return now;
+    }
+
+    private static void printStartupReport(Map<String, Long> startupPhases, String schemaMode) {
+        long total = startupPhases.values().stream().mapToLong(Long::longValue).sum();
+        StringBuilder report = new StringBuilder("Library session factory started in " + total + " ms (schema mode " + schemaMode + "):");
+
+        startupPhases.forEach((phase, millis) -> report.append(System.lineSeparator()).append("  ").append(phase).append(" -> ").append(millis).append(" ms"));
+        System.out.println(report);
+    }
+
+    private static String statisticsMBeanName(SessionFactory sessionFactory) {
+        return "type=HibernateStatistics,sessionFactory=" + sessionFactory.unwrap(SessionFactoryImplementor.class).getUuid();
+    }
+
+    private static CacheManager createCacheManager(List<CacheRegion> cacheRegions) {
+        ConfigurationBuilder cacheConfiguration = ConfigurationBuilder.newConfigurationBuilder();
+
+        for (CacheRegion region : cacheRegions) {
+            CacheConfigurationBuilder<Object, Object> regionConfiguration = CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(region.maxEntries()));
+            if (region.timeToLive() != null) {
+                regionConfiguration = regionConfiguration.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.timeToLive()));
+            }
+            cacheConfiguration = cacheConfiguration.withCache(region.name(), regionConfiguration);
+        }
+
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
 
-        return configuration.buildSessionFactory();
+        return cachingProvider.getCacheManager(URI.create("urn:pl.cebix:library-cache:" + UUID.randomUUID()), cacheConfiguration.build());
     }
 }
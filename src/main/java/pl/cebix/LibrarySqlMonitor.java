@@ -0,0 +1,82 @@
+package pl.cebix;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class LibrarySqlMonitor implements StatementInspector {
+    public static final String SLOW_STATEMENT_THRESHOLD = "library.sql.slow_threshold_ms";
+
+    private static final long serialVersionUID = 1L;
+    private static final long DEFAULT_SLOW_STATEMENT_THRESHOLD_MILLIS = 100;
+    private static final String UNKNOWN_SQL = "(sql not captured)";
+
+    private static final ThreadLocal<long[]> STATEMENT_TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+    private static final ThreadLocal<InspectedStatement> CURRENT_STATEMENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_BINDS = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> RECORDED_STATEMENTS = new ThreadLocal<>();
+
+    private final long slowThresholdNanos;
+
+    private record InspectedStatement(String sql, long slowThresholdNanos) {
+    }
+
+    LibrarySqlMonitor(String slowThresholdMillis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis == null
+                ? DEFAULT_SLOW_STATEMENT_THRESHOLD_MILLIS
+                : Long.parseLong(slowThresholdMillis));
+    }
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT_STATEMENT.set(new InspectedStatement(sql, slowThresholdNanos));
+        CURRENT_BINDS.remove();
+
+        return sql;
+    }
+
+    public static long getStatementCount() {
+        return STATEMENT_TOTALS.get()[0];
+    }
+
+    public static long getStatementNanos() {
+        return STATEMENT_TOTALS.get()[1];
+    }
+
+    public static void startRecording() {
+        RECORDED_STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stopRecording() {
+        List<String> statements = RECORDED_STATEMENTS.get();
+        RECORDED_STATEMENTS.remove();
+
+        return statements == null ? List.of() : statements;
+    }
+
+    static void bindsExecuted(String binds) {
+        CURRENT_BINDS.set(binds);
+    }
+
+    static void statementExecuted(long elapsedNanos) {
+        long[] totals = STATEMENT_TOTALS.get();
+        totals[0]++;
+        totals[1] += elapsedNanos;
+
+        InspectedStatement statement = CURRENT_STATEMENT.get();
+        String sql = statement == null ? UNKNOWN_SQL : statement.sql();
+        String binds = CURRENT_BINDS.get();
+        CURRENT_BINDS.remove();
+
+        List<String> recordedStatements = RECORDED_STATEMENTS.get();
+        if (recordedStatements != null) {
+            recordedStatements.add(sql);
+        }
+
+        if (statement != null && elapsedNanos >= statement.slowThresholdNanos()) {
+            System.out.println("Slow SQL (" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms): " + sql + (binds == null ? "" : " binds " + binds));
+        }
+    }
+}
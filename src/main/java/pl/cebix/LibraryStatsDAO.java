@@ -0,0 +1,63 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class LibraryStatsDAO {
+    private final SessionFactory sessionFactory;
+    private final LibraryMetrics metrics;
+
+    public LibraryStatsDAO(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        this.metrics = new LibraryMetrics("LibraryStatsDAO", Boolean.parseBoolean(String.valueOf(sessionFactory.getProperties().get(LibraryMetrics.PUBLISH_JMX))));
+    }
+
+    public LibraryMetrics getMetrics() {
+        return metrics;
+    }
+
+    private <R> R inSession(Function<Session, R> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+
+            return work.apply(session);
+        }
+    }
+
+    public List<AuthorSummary> getBookCountPerAuthor() {
+        try (LibraryOperation operation = metrics.start("getBookCountPerAuthor")) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.AUTHOR_FIND_SUMMARIES, AuthorSummary.class).getResultList()));
+        }
+    }
+
+    public List<AuthorSummary> getTopAuthorsByBookCount(int limit) {
+        try (LibraryOperation operation = metrics.start("getTopAuthorsByBookCount", String.valueOf(limit))) {
+            validateLimit(limit);
+
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.AUTHOR_FIND_TOP_BY_BOOK_COUNT, AuthorSummary.class)
+                    .setMaxResults(limit)
+                    .getResultList()));
+        }
+    }
+
+    public List<GenreStatistics> getStatisticsPerGenre() {
+        try (LibraryOperation operation = metrics.start("getStatisticsPerGenre")) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.BOOK_STATISTICS_BY_GENRE, GenreStatistics.class).getResultList()));
+        }
+    }
+
+    public List<FavouriteGenreCount> getAuthorCountPerFavouriteGenre() {
+        try (LibraryOperation operation = metrics.start("getAuthorCountPerFavouriteGenre")) {
+            return operation.succeeded(inSession(session -> session.createNamedQuery(LibraryQueries.AUTHOR_COUNT_BY_FAVOURITE_GENRE, FavouriteGenreCount.class).getResultList()));
+        }
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be a positive number.");
+        }
+    }
+}
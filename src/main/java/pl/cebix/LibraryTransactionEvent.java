@@ -0,0 +1,19 @@
+package pl.cebix;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.cebix.LibraryTransaction")
+@Label("Library Transaction")
+@Category({"Library", "Hibernate"})
+@Description("A Hibernate transaction, from session open or the previous completion until it completes")
+class LibraryTransactionEvent extends Event {
+    @Label("Committed")
+    boolean committed;
+
+    @Label("Entities Flushed")
+    long flushedEntityCount;
+}
@@ -0,0 +1,103 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class LibraryUnitOfWork implements AutoCloseable {
+    private final Session session;
+    private final Transaction transaction;
+    private final LibraryUnitOfWork owner;
+    private final ThreadLocal<LibraryUnitOfWork> binding;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+    private boolean committed;
+    private boolean rollbackOnly;
+
+    private LibraryUnitOfWork(Session session, Transaction transaction, ThreadLocal<LibraryUnitOfWork> binding) {
+        this.session = session;
+        this.transaction = transaction;
+        this.owner = null;
+        this.binding = binding;
+    }
+
+    private LibraryUnitOfWork(LibraryUnitOfWork owner) {
+        this.session = owner.session;
+        this.transaction = owner.transaction;
+        this.owner = owner;
+        this.binding = owner.binding;
+    }
+
+    static LibraryUnitOfWork begin(SessionFactory sessionFactory, ThreadLocal<LibraryUnitOfWork> binding) {
+        LibraryUnitOfWork current = binding.get();
+        if (current != null) {
+            return new LibraryUnitOfWork(current);
+        }
+
+        Session session = sessionFactory.openSession();
+        try {
+            LibraryUnitOfWork unitOfWork = new LibraryUnitOfWork(session, session.beginTransaction(), binding);
+            binding.set(unitOfWork);
+
+            return unitOfWork;
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+    boolean ownsSession() {
+        return owner == null;
+    }
+
+    void afterCommit(Runnable action) {
+        if (owner != null) {
+            owner.afterCommit(action);
+            return;
+        }
+
+        afterCommitActions.add(action);
+    }
+
+    boolean commit() {
+        committed = true;
+
+        if (owner != null) {
+            return !owner.rollbackOnly;
+        }
+
+        if (rollbackOnly) {
+            transaction.rollback();
+            return false;
+        }
+
+        transaction.commit();
+        afterCommitActions.forEach(Runnable::run);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (owner != null) {
+            if (!committed) {
+                owner.rollbackOnly = true;
+            }
+            return;
+        }
+
+        binding.remove();
+        try {
+            if (!committed && transaction.isActive()) {
+                transaction.rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
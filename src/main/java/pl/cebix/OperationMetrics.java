@@ -0,0 +1,87 @@
+package pl.cebix;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics implements OperationMetricsMXBean {
+    private final String operation;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    LibraryOperation start(String key) {
+        return new LibraryOperation(this, key, System.nanoTime());
+    }
+
+    void record(long nanos, boolean succeeded, long statementCount, long statementTimeNanos) {
+        latencies.record(nanos);
+        statements.add(statementCount);
+        statementNanos.add(statementTimeNanos);
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getCalls() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    @Override
+    public long getStatementMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(statementNanos.sum());
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencies.getMeanNanos() / 1_000;
+    }
+
+    @Override
+    public long getP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencies.getNanosAtPercentile(50));
+    }
+
+    @Override
+    public long getP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencies.getNanosAtPercentile(99));
+    }
+
+    @Override
+    public long getP999Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencies.getNanosAtPercentile(99.9));
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencies.getMaxNanos());
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+        statements.reset();
+        statementNanos.reset();
+    }
+}
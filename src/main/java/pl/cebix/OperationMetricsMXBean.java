@@ -0,0 +1,25 @@
+package pl.cebix;
+
+public interface OperationMetricsMXBean {
+    String getOperation();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getStatements();
+
+    long getStatementMicros();
+
+    double getMeanMicros();
+
+    long getP50Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    long getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,9 @@
+package pl.cebix;
+
+import java.util.List;
+
+public record Page<T>(List<T> items, Long nextCursor) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,234 @@
+package pl.cebix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final char PADDING = '\u0001';
+
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    private final Map<Integer, TreeSet<String>> valuesByKeyId = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private int tombstones;
+
+    private static final class Postings {
+        private int[] keyIds = new int[4];
+        private int size;
+
+        private void add(int keyId) {
+            if (size == keyIds.length) {
+                keyIds = Arrays.copyOf(keyIds, size * 2);
+            }
+            keyIds[size++] = keyId;
+        }
+    }
+
+    private record Match(String value, int distance) {
+    }
+
+    static Set<String> trigrams(String key) {
+        String padded = String.valueOf(PADDING).repeat(GRAM_LENGTH - 1) + key + PADDING;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+
+        return grams;
+    }
+
+    static int distance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+
+    void add(String value) {
+        if (value == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            addUnlocked(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String value) {
+        if (value == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(value);
+            compactIfMostlyTombstones();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void rename(String oldValue, String newValue) {
+        if (oldValue == null || newValue == null || oldValue.equals(newValue)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (removeUnlocked(oldValue)) {
+                addUnlocked(newValue);
+            }
+            compactIfMostlyTombstones();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<String> search(String query, int maxEdits) {
+        String queryKey = BookTitleIndex.fold(query);
+        Set<String> queryGrams = trigrams(queryKey);
+        int minimumSharedGrams = queryGrams.size() - GRAM_LENGTH * maxEdits;
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (minimumSharedGrams > 0) {
+                int[] sharedGrams = new int[keys.size()];
+                for (String gram : queryGrams) {
+                    Postings gramPostings = postings.get(gram);
+                    if (gramPostings == null) {
+                        continue;
+                    }
+
+                    for (int i = 0; i < gramPostings.size; i++) {
+                        int keyId = gramPostings.keyIds[i];
+                        if (++sharedGrams[keyId] == minimumSharedGrams) {
+                            collectIfWithinDistance(keyId, queryKey, maxEdits, matches);
+                        }
+                    }
+                }
+            } else {
+                valuesByKeyId.keySet().forEach(keyId -> collectIfWithinDistance(keyId, queryKey, maxEdits, matches));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::distance).thenComparing(Match::value))
+                .map(Match::value)
+                .toList();
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectIfWithinDistance(int keyId, String queryKey, int maxEdits, List<Match> matches) {
+        TreeSet<String> values = valuesByKeyId.get(keyId);
+        if (values == null) {
+            return;
+        }
+
+        int distance = distance(queryKey, keys.get(keyId), maxEdits);
+        if (distance <= maxEdits) {
+            values.forEach(value -> matches.add(new Match(value, distance)));
+        }
+    }
+
+    private void addUnlocked(String value) {
+        String key = BookTitleIndex.fold(value);
+        Integer keyId = keyIds.get(key);
+
+        if (keyId == null) {
+            keyId = keys.size();
+            keys.add(key);
+            keyIds.put(key, keyId);
+            for (String gram : trigrams(key)) {
+                postings.computeIfAbsent(gram, ignored -> new Postings()).add(keyId);
+            }
+        } else if (!valuesByKeyId.containsKey(keyId)) {
+            tombstones--;
+        }
+
+        if (valuesByKeyId.computeIfAbsent(keyId, ignored -> new TreeSet<>()).add(value)) {
+            size++;
+        }
+    }
+
+    private boolean removeUnlocked(String value) {
+        Integer keyId = keyIds.get(BookTitleIndex.fold(value));
+        TreeSet<String> values = keyId == null ? null : valuesByKeyId.get(keyId);
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+
+        size--;
+        if (values.isEmpty()) {
+            valuesByKeyId.remove(keyId);
+            tombstones++;
+        }
+        return true;
+    }
+
+    private void compactIfMostlyTombstones() {
+        if (tombstones <= size) {
+            return;
+        }
+
+        List<String> values = new ArrayList<>(size);
+        valuesByKeyId.values().forEach(values::addAll);
+
+        keys.clear();
+        keyIds.clear();
+        valuesByKeyId.clear();
+        postings.clear();
+        size = 0;
+        tombstones = 0;
+        values.forEach(this::addUnlocked);
+    }
+}
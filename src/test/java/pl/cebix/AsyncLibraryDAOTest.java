@@ -0,0 +1,58 @@
+package pl.cebix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncLibraryDAOTest {
+    @Mock
+    private LibraryDAO libraryDAO;
+
+    @Test
+    public void checkIfOperationIsDelegatedToLibraryDAO() {
+        Author author = new Author("John Doe", 30, "Thriller");
+        when(libraryDAO.findAuthorByName(author.getName())).thenReturn(author);
+
+        try (AsyncLibraryDAO asyncLibraryDAO = new AsyncLibraryDAO(libraryDAO, 2)) {
+            assertSame(author, asyncLibraryDAO.findAuthorByName(author.getName()).join());
+        }
+    }
+
+    @Test
+    public void checkIfConcurrentOperationsAreLimitedToConnectionPoolSize() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return List.of();
+        }).when(libraryDAO).getAllAuthors();
+
+        try (AsyncLibraryDAO asyncLibraryDAO = new AsyncLibraryDAO(libraryDAO, 3)) {
+            List<CompletableFuture<List<Author>>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(asyncLibraryDAO.getAllAuthors());
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        assertTrue(maxRunning.get() <= 3);
+        verify(libraryDAO, times(20)).getAllAuthors();
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenMaxConcurrentOperationsIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncLibraryDAO(libraryDAO, 0));
+    }
+}
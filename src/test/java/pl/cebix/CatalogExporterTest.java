@@ -0,0 +1,103 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogExporterTest {
+    private static SessionFactory sessionFactory;
+    private static CatalogExporter catalogExporter;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("export"));
+
+        LibraryDAO libraryDAO = new LibraryDAO(sessionFactory);
+        libraryDAO.addAuthors(List.of(new Author("Tolkien", 81, "Fantasy"), new Author("Lem", 84, "Science Fiction")));
+        libraryDAO.addBooksToAuthors(Map.of(
+                "Tolkien", List.of(new Book("The Hobbit, or There and Back Again", "Fantasy", 310)),
+                "Lem", List.of(new Book("Solaris", "Science Fiction", 204), new Book("The \"Cyberiad\"", "Science Fiction", 281))
+        ));
+        catalogExporter = new CatalogExporter(libraryDAO);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void checkIfAuthorsAreExportedToCsv() throws IOException {
+        Path target = directory.resolve("authors.csv");
+
+        assertEquals(2, catalogExporter.exportAuthors(target, CatalogExporter.Format.CSV, false, null));
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(3, lines.size());
+        assertEquals("id,name,age,favouriteGenre", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",Tolkien,81,Fantasy"));
+        assertTrue(lines.get(2).endsWith(",Lem,84,Science Fiction"));
+    }
+
+    @Test
+    public void checkIfBooksAreExportedToCsvWithQuoting() throws IOException {
+        Path target = directory.resolve("books.csv");
+
+        catalogExporter.exportBooks(target, CatalogExporter.Format.CSV, false, null);
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals("id,title,genre,numberOfPages,authorName", lines.get(0));
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith(",\"The Hobbit, or There and Back Again\",Fantasy,310,Tolkien")));
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith(",\"The \"\"Cyberiad\"\"\",Science Fiction,281,Lem")));
+    }
+
+    @Test
+    public void checkIfBooksAreExportedToGzippedJsonLines() throws IOException {
+        Path target = directory.resolve("books.jsonl.gz");
+
+        assertEquals(3, catalogExporter.exportBooks(target, CatalogExporter.Format.JSONL, true, null));
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(target)), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(lines::add);
+        }
+        assertEquals(3, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith("\"title\":\"The \\\"Cyberiad\\\"\",\"genre\":\"Science Fiction\",\"numberOfPages\":281,\"authorName\":\"Lem\"}")));
+    }
+
+    @Test
+    public void checkIfCatalogExportReportsProgress() throws IOException {
+        List<Long> progress = new ArrayList<>();
+
+        assertEquals(5, catalogExporter.exportCatalog(directory, CatalogExporter.Format.JSONL, false, progress::add));
+        assertEquals(List.of(2L, 5L), progress);
+        assertTrue(Files.exists(directory.resolve("authors.jsonl")));
+        assertTrue(Files.exists(directory.resolve("books.jsonl")));
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenFormatIsMissing() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> catalogExporter.exportAuthors(directory.resolve("authors"), null, false, null));
+
+        assertEquals("Export target and format must be provided.", exception.getMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package pl.cebix;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class H2TestSettings {
+    private H2TestSettings() {
+    }
+
+    public static Map<String, String> forDatabase(String databaseName) {
+        return new HashMap<>(Map.of(
+                "hibernate.connection.driver_class", "org.h2.Driver",
+                "hibernate.connection.url", "jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "hibernate.connection.username", "sa",
+                "hibernate.connection.password", "",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.show_sql", "false",
+                "library.query.report", "false",
+                "library.jmx.enabled", "false"
+        ));
+    }
+}
@@ -0,0 +1,202 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryDAOSearchTest {
+    private static SessionFactory sessionFactory;
+    private static LibraryDAO libraryDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("search"));
+
+        LibraryDAO seedingDAO = new LibraryDAO(sessionFactory);
+        seedingDAO.addAuthors(List.of(
+                new Author("Tolkien", 81, "Fantasy"),
+                new Author("Lem", 84, "Science Fiction"),
+                new Author("Stephen King", 76, "Horror"),
+                new Author("Stephenie Meyer", 50, "Romance"),
+                new Author("Stefan \u017Beromski", 61, "Drama")
+        ));
+        seedingDAO.addBooksToAuthors(Map.of(
+                "Tolkien", List.of(new Book("The Hobbit", "Fantasy", 310), new Book("The Silmarillion", "Fantasy", 365)),
+                "Lem", List.of(new Book("Solaris", "Science Fiction", 204), new Book("Cyberiada", "Science Fiction", 281)),
+                "Stephen King", List.of(new Book("It", "Horror", 1138), new Book("Carrie", "Horror", 199), new Book("Misery", "Horror", 370)),
+                "Stephenie Meyer", List.of(new Book("Twilight", "Romance", 498))
+        ));
+
+        libraryDAO = new LibraryDAO(sessionFactory);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    private static List<String> titlesOf(List<Book> books) {
+        return books.stream().map(Book::getTitle).toList();
+    }
+
+    @Test
+    public void checkIfBooksAreFoundByCaseInsensitivePrefix() {
+        assertEquals(List.of("Solaris"), titlesOf(libraryDAO.searchBooks("SOL", 10)));
+        assertEquals(List.of("The Hobbit", "The Silmarillion"), titlesOf(libraryDAO.searchBooks("the", 10)));
+        assertEquals(List.of("The Silmarillion"), titlesOf(libraryDAO.searchBooks("the silm", 10)));
+    }
+
+    @Test
+    public void checkIfSearchRespectsLimit() {
+        assertEquals(1, libraryDAO.searchBooks("the", 1).size());
+    }
+
+    @Test
+    public void checkIfIndexFollowsCommittedWrites() {
+        libraryDAO.addBookToAuthor("Lem", new Book("Fiasko", "Science Fiction", 380));
+        assertEquals(List.of("Fiasko"), titlesOf(libraryDAO.searchBooks("fiask", 10)));
+
+        libraryDAO.updateBookTitle("Fiasko", "Eden");
+        assertTrue(libraryDAO.searchBooks("fiask", 10).isEmpty());
+        assertEquals(List.of("Eden"), titlesOf(libraryDAO.searchBooks("eden", 10)));
+
+        libraryDAO.deleteBook("Eden");
+        assertTrue(libraryDAO.searchBooks("eden", 10).isEmpty());
+    }
+
+    @Test
+    public void checkIfRolledBackWritesAreNotIndexed() {
+        assertFalse(libraryDAO.inTransaction(dao -> {
+            dao.addBookToAuthor("Tolkien", new Book("Unfinished Tales", "Fantasy", 472));
+            throw new IllegalStateException("Rolled back.");
+        }));
+
+        assertTrue(libraryDAO.searchBooks("unfinished", 10).isEmpty());
+    }
+
+    @Test
+    public void checkIfAuthorsAreSuggestedByPrefixRankedByBookCount() {
+        assertEquals(List.of("Stephen King", "Stephenie Meyer", "Stefan \u017Beromski"), libraryDAO.suggestAuthors("ste", 10));
+        assertEquals(List.of("Stephen King"), libraryDAO.suggestAuthors("STEPH", 1));
+        assertEquals(List.of("Stefan \u017Beromski"), libraryDAO.suggestAuthors("stefan zer", 10));
+        assertTrue(libraryDAO.suggestAuthors("stx", 10).isEmpty());
+    }
+
+    @Test
+    public void checkIfSuggestionsFollowCommittedAuthorWrites() {
+        libraryDAO.addAuthors(List.of(new Author("Bruno Schulz", 50, "Drama"), new Author("Bruno Jasie\u0144ski", 39, "Poetry")));
+        assertEquals(List.of("Bruno Jasie\u0144ski", "Bruno Schulz"), libraryDAO.suggestAuthors("bruno", 10));
+
+        libraryDAO.addBookToAuthor("Bruno Schulz", new Book("Sklepy cynamonowe", "Drama", 150));
+        assertEquals(List.of("Bruno Schulz", "Bruno Jasie\u0144ski"), libraryDAO.suggestAuthors("bruno", 10));
+
+        libraryDAO.updateBookAuthor("Sklepy cynamonowe", libraryDAO.findAuthorByName("Bruno Jasie\u0144ski"));
+        assertEquals(List.of("Bruno Jasie\u0144ski", "Bruno Schulz"), libraryDAO.suggestAuthors("bruno", 10));
+
+        libraryDAO.updateBook("Sklepy cynamonowe", BookPatch.ofAuthor(libraryDAO.findAuthorByName("Bruno Schulz")));
+        assertEquals(List.of("Bruno Schulz", "Bruno Jasie\u0144ski"), libraryDAO.suggestAuthors("bruno", 10));
+
+        libraryDAO.updateAuthorName("Bruno Jasie\u0144ski", "Witold Gombrowicz");
+        assertEquals(List.of("Bruno Schulz"), libraryDAO.suggestAuthors("bruno", 10));
+        assertEquals(List.of("Witold Gombrowicz"), libraryDAO.suggestAuthors("witold", 10));
+
+        libraryDAO.deleteAuthor("Witold Gombrowicz");
+        assertTrue(libraryDAO.suggestAuthors("witold", 10).isEmpty());
+    }
+
+    @Test
+    public void checkIfBooksFollowRenamedAuthor() {
+        libraryDAO.addAuthors(List.of(new Author("Juliusz S\u0142owacki", 40, "Drama"), new Author("Julian Tuwim", 59, "Poetry")));
+        libraryDAO.addBooksToAuthors(Map.of(
+                "Juliusz S\u0142owacki", List.of(new Book("Kordian", "Drama", 120), new Book("Balladyna", "Drama", 110)),
+                "Julian Tuwim", List.of(new Book("Lokomotywa", "Poetry", 8))
+        ));
+
+        libraryDAO.updateAuthorName("Juliusz S\u0142owacki", "Jan Kochanowski");
+        assertEquals(List.of("Jan Kochanowski", "Julian Tuwim"), libraryDAO.suggestAuthors("j", 10));
+
+        libraryDAO.updateBookAuthor("Kordian", libraryDAO.findAuthorByName("Julian Tuwim"));
+        assertEquals(List.of("Julian Tuwim", "Jan Kochanowski"), libraryDAO.suggestAuthors("j", 10));
+    }
+
+    @Test
+    public void checkIfDAOsOfOneSessionFactoryShareSearchIndexes() {
+        LibraryDAO otherDAO = new LibraryDAO(sessionFactory);
+
+        libraryDAO.addBookToAuthor("Lem", new Book("Katar", "Science Fiction", 180));
+        assertEquals(List.of("Katar"), titlesOf(otherDAO.searchBooks("katar", 10)));
+
+        otherDAO.deleteBook("Katar");
+        assertTrue(libraryDAO.searchBooks("katar", 10).isEmpty());
+    }
+
+    @Test
+    public void checkIfWritesCommittedDuringRebuildAreKept() {
+        libraryDAO.addAuthors(List.of(new Author("Maria D\u0105browska", 75, "Drama"), new Author("Maria Konopnicka", 68, "Poetry")));
+
+        LibrarySearchIndexHolder.of(sessionFactory).rebuild(rebuiltSearchIndexes -> {
+            libraryDAO.addBookToAuthor("Maria D\u0105browska", new Book("Noce i dnie", "Drama", 2500));
+            libraryDAO.streamAllBooks(rebuiltSearchIndexes::indexBook);
+            libraryDAO.getAllAuthorSummaries().forEach(summary -> rebuiltSearchIndexes.indexAuthor(summary.name()));
+            libraryDAO.addBookToAuthor("Maria Konopnicka", new Book("Rota", "Poetry", 4));
+            libraryDAO.addBookToAuthor("Maria Konopnicka", new Book("Nasza szkapa", "Poetry", 12));
+        });
+
+        assertEquals(List.of("Noce i dnie"), titlesOf(libraryDAO.searchBooks("noce", 10)));
+        assertEquals(List.of("Rota"), titlesOf(libraryDAO.searchBooks("rota", 10)));
+        assertEquals(List.of("Maria Konopnicka", "Maria D\u0105browska"), libraryDAO.suggestAuthors("maria", 10));
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenSuggestionLimitIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> libraryDAO.suggestAuthors("ste", 0));
+
+        assertEquals("Suggestion limit must be a positive number.", exception.getMessage());
+    }
+
+    @Test
+    public void checkIfAuthorsAreFoundWithinEditDistance() {
+        assertEquals(List.of("Stephen King"), libraryDAO.findAuthorsFuzzy("Stephen Kign", 2).stream().map(Author::getName).toList());
+        assertEquals(List.of("Stephen King"), libraryDAO.findAuthorsFuzzy("STEPHEN KING", 0).stream().map(Author::getName).toList());
+        assertTrue(libraryDAO.findAuthorsFuzzy("Stephen Kign", 1).isEmpty());
+    }
+
+    @Test
+    public void checkIfBooksAreFoundWithinEditDistanceOrderedByDistance() {
+        assertEquals(List.of("Solaris"), titlesOf(libraryDAO.findBooksFuzzy("Solarsi", 2)));
+        assertEquals(List.of("The Hobbit"), titlesOf(libraryDAO.findBooksFuzzy("the hobit", 1)));
+    }
+
+    @Test
+    public void checkIfFuzzyLookupFollowsCommittedWrites() {
+        libraryDAO.addBookToAuthor("Lem", new Book("Golem XIV", "Science Fiction", 160));
+        assertEquals(List.of("Golem XIV"), titlesOf(libraryDAO.findBooksFuzzy("Golem XV", 1)));
+
+        libraryDAO.updateBookTitle("Golem XIV", "Kongres futurologiczny");
+        assertTrue(libraryDAO.findBooksFuzzy("Golem XV", 1).isEmpty());
+        assertEquals(List.of("Kongres futurologiczny"), titlesOf(libraryDAO.findBooksFuzzy("Kongres futorologiczny", 1)));
+
+        libraryDAO.deleteBook("Kongres futurologiczny");
+        assertTrue(libraryDAO.findBooksFuzzy("Kongres futurologiczny", 1).isEmpty());
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenMaxEditsIsOutOfRange() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> libraryDAO.findAuthorsFuzzy("Lem", 4));
+
+        assertEquals("Max edits must be a number between 0 and 3.", exception.getMessage());
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenSearchLimitIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> libraryDAO.searchBooks("the", 0));
+
+        assertEquals("Search limit must be a positive number.", exception.getMessage());
+    }
+}
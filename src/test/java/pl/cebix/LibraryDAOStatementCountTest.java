@@ -0,0 +1,197 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryDAOStatementCountTest {
+    private static final int AUTHORS = 20;
+    private static final int BOOKS_PER_AUTHOR = 5;
+
+    private static SessionFactory sessionFactory;
+    private static LibraryDAO libraryDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("statement-count"));
+        libraryDAO = new LibraryDAO(sessionFactory);
+
+        List<Author> authors = new ArrayList<>();
+        Map<String, List<Book>> booksByAuthorName = new LinkedHashMap<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(new Author("Author " + i, 40, "Fantasy"));
+            List<Book> books = new ArrayList<>();
+            for (int j = 0; j < BOOKS_PER_AUTHOR; j++) {
+                books.add(new Book("Book " + i + "-" + j, "Fantasy", 300));
+            }
+            booksByAuthorName.put("Author " + i, books);
+        }
+        libraryDAO.addAuthors(authors);
+        libraryDAO.addBooksToAuthors(booksByAuthorName);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfBooksOfAuthorAreLoadedWithOneStatement() {
+        assertEquals(BOOKS_PER_AUTHOR, libraryDAO.getBooksOfAuthor("Author 1").size());
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfAllBooksAreLoadedWithOneStatement() {
+        assertTrue(libraryDAO.getAllBooks().size() >= AUTHORS * BOOKS_PER_AUTHOR);
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfBookSummariesOfAuthorAreProjectedWithOneStatement() {
+        List<BookSummary> summaries = libraryDAO.getBookSummariesOfAuthor("Author 7");
+
+        assertEquals(BOOKS_PER_AUTHOR, summaries.size());
+        assertEquals(new BookSummary(summaries.get(0).id(), "Book 7-0", "Fantasy", 300, "Author 7"), summaries.get(0));
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfAuthorSummariesCountBooksWithOneStatement() {
+        List<AuthorSummary> summaries = libraryDAO.getAllAuthorSummaries();
+
+        assertEquals(AUTHORS, summaries.size());
+        assertTrue(summaries.stream().allMatch(summary -> summary.bookCount() >= BOOKS_PER_AUTHOR));
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfBooksPageIsLoadedWithOneStatement() {
+        assertEquals(3, libraryDAO.getBooksPage(0, 3, "Fantasy", "Author 2").items().size());
+    }
+
+    @Test
+    @MaxStatements(2)
+    public void checkIfSingleFieldUpdateDoesNotLoadBooksOfAuthor() {
+        libraryDAO.updateBookGenre("Book 3-0", "Horror");
+
+        assertEquals("Horror", libraryDAO.findBookByTitle("Book 3-0").getGenre());
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfPatchUpdateIsOneStatement() {
+        libraryDAO.updateBook("Book 4-0", BookPatch.ofNumberOfPages(120));
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfSingleFieldUpdateIsOneStatement() {
+        libraryDAO.updateAuthorAge("Author 8", 41);
+    }
+
+    @Test
+    @MaxStatements(3)
+    public void checkIfAddingBookToAuthorDoesNotLoadBooksOfAuthor() {
+        libraryDAO.addBookToAuthor("Author 5", new Book("New Book", "Drama", 200));
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfRepeatedAuthorLookupsAreServedFromCache() {
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(libraryDAO.findAuthorByName("Author 6"));
+        }
+    }
+
+    @Nested
+    class TestFindingByKeys {
+        private static List<String> namesOf(List<Author> authors) {
+            return authors.stream().map(Author::getName).toList();
+        }
+
+        @Test
+        @MaxStatements(1)
+        public void checkIfAuthorsAreReturnedInTheOrderOfTheGivenNames() {
+            assertEquals(List.of("Author 12", "Author 3", "Author 7"), namesOf(libraryDAO.findAuthorsByNames(List.of("Author 12", "Author 3", "Author 7"))));
+        }
+
+        @Test
+        @MaxStatements(1)
+        public void checkIfBooksAreReturnedInTheOrderOfTheGivenTitles() {
+            List<Book> books = libraryDAO.findBooksByTitles(List.of("Book 9-4", "Book 0-1", "Book 5-2"));
+
+            assertEquals(List.of("Book 9-4", "Book 0-1", "Book 5-2"), books.stream().map(Book::getTitle).toList());
+        }
+
+        @Test
+        public void checkIfDuplicateNamesAreReturnedOnce() {
+            assertEquals(List.of("Author 4", "Author 2"), namesOf(libraryDAO.findAuthorsByNames(List.of("Author 4", "Author 2", "Author 4"))));
+        }
+
+        @Test
+        public void checkIfMissingTitlesAreSkippedAndReported() {
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+            List<Book> books;
+
+            try {
+                books = libraryDAO.findBooksByTitles(List.of("Missing Book", "Book 2-3", "Another Missing Book"));
+            } finally {
+                System.setOut(originalOut);
+            }
+
+            assertEquals(List.of("Book 2-3"), books.stream().map(Book::getTitle).toList());
+            assertEquals("Books with titles [Missing Book, Another Missing Book] were not found.", outContent.toString().trim());
+        }
+
+        @Test
+        @MaxStatements(0)
+        public void checkIfEmptyInputReturnsNothingWithoutQuerying() {
+            assertTrue(libraryDAO.findAuthorsByNames(List.of()).isEmpty());
+            assertTrue(libraryDAO.findBooksByTitles(List.of()).isEmpty());
+        }
+    }
+
+    @Nested
+    class TestMovingBooks {
+        private Author targetAuthor;
+
+        @BeforeEach
+        public void setUp() {
+            libraryDAO.addAuthors(List.of(new Author("Moving Source", 40, "Drama"), new Author("Moving Target", 40, "Drama")));
+            libraryDAO.addBooksToAuthors(Map.of("Moving Source", List.of(new Book("Moving Book", "Drama", 100))));
+            targetAuthor = libraryDAO.findAuthorByName("Moving Target");
+        }
+
+        @AfterEach
+        public void tearDown() {
+            assertEquals("Moving Target", libraryDAO.findBookByTitle("Moving Book").getAuthor().getName());
+
+            libraryDAO.deleteBook("Moving Book");
+            libraryDAO.deleteAuthor("Moving Source");
+            libraryDAO.deleteAuthor("Moving Target");
+        }
+
+        @Test
+        @MaxStatements(1)
+        public void checkIfMovingBookToAnotherAuthorIsOneStatement() {
+            libraryDAO.updateBookAuthor("Moving Book", targetAuthor);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package pl.cebix;
 
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.Query;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +22,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -251,35 +262,478 @@ public class LibraryDAOTest {
         }
     }
 
+    @Nested
+    class TestInTransaction {
+        @Test
+        public void checkIfOperationsShareOneSessionAndTransaction() {
+            Author author = new Author("John Doe", 30, "Thriller");
+            Book book = new Book("Title", "Fantasy", 250);
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
+
+            boolean committed = libraryDAO.inTransaction(dao -> {
+                dao.addAuthor(author);
+                dao.addBookToAuthor(author.getName(), book);
+            });
+
+            assertTrue(committed);
+            verify(sessionFactory, times(1)).openSession();
+            verify(session).merge(author);
+            verify(session).merge(book);
+            verify(transaction, times(1)).commit();
+        }
+
+        @Test
+        public void checkIfTransactionIsRolledBackWhenAnyOperationFails() {
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            boolean committed = libraryDAO.inTransaction(dao -> {
+                dao.addAuthor(new Author("John Doe", 30, "Thriller"));
+                dao.addAuthor(new Author("Jane Doe", 121, "Drama"));
+            });
+
+            assertFalse(committed);
+            assertTrue(outContent.toString().contains("Author's age must be a positive number less than 120."));
+            verify(transaction).rollback();
+            verify(transaction, never()).commit();
+
+            System.setOut(originalOut);
+        }
+    }
+
+    @Nested
+    class TestMetrics {
+        @Test
+        public void checkIfSuccessfulOperationIsRecorded() {
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            libraryDAO.addAuthor(new Author("John Doe", 30, "Thriller"));
+            libraryDAO.addAuthor(new Author("Jane Doe", 40, "Drama"));
+
+            OperationMetrics addAuthorMetrics = libraryDAO.getMetrics().getOperations().get("addAuthor");
+            assertEquals(2, addAuthorMetrics.getCalls());
+            assertEquals(0, addAuthorMetrics.getErrors());
+            assertTrue(addAuthorMetrics.getP50Micros() <= addAuthorMetrics.getP99Micros());
+            assertTrue(addAuthorMetrics.getP999Micros() <= addAuthorMetrics.getMaxMicros());
+        }
+
+        @Test
+        public void checkIfFailedOperationIsRecordedAsError() {
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            PrintStream originalOut = System.out;
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+
+            libraryDAO.addAuthor(new Author("", 30, "Thriller"));
+
+            System.setOut(originalOut);
+
+            OperationMetrics addAuthorMetrics = libraryDAO.getMetrics().getOperations().get("addAuthor");
+            assertEquals(1, addAuthorMetrics.getCalls());
+            assertEquals(1, addAuthorMetrics.getErrors());
+        }
+    }
+
+    @Nested
+    class TestReadOnlyReads {
+        @Test
+        @SuppressWarnings("unchecked")
+        public void checkIfReportingReadUsesReadOnlySessionWithoutFlush() {
+            Session session = mock(Session.class);
+            Query<Author> query = mock(Query.class);
+            List<Author> authors = List.of(new Author("John Doe", 30, "Thriller"));
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.createNamedQuery(LibraryQueries.AUTHOR_FIND_ALL, Author.class)).thenReturn(query);
+            when(query.getResultList()).thenReturn(authors);
+
+            assertEquals(authors, libraryDAO.getAllAuthors());
+
+            verify(session).setDefaultReadOnly(true);
+            verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+            verify(session).close();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        public void checkIfReadInsideUnitOfWorkKeepsSessionWritable() {
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            Query<Author> query = mock(Query.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+            when(session.createNamedQuery(LibraryQueries.AUTHOR_FIND_ALL, Author.class)).thenReturn(query);
+
+            libraryDAO.inTransaction(LibraryDAO::getAllAuthors);
+
+            verify(session, never()).setDefaultReadOnly(true);
+            verify(session, never()).setHibernateFlushMode(FlushMode.MANUAL);
+            verify(transaction).commit();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        public void checkIfStreamingBypassesSecondLevelCache() {
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            Query<Author> query = mock(Query.class);
+            ScrollableResults<Author> results = mock(ScrollableResults.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+            when(session.createNamedQuery(LibraryQueries.AUTHOR_FIND_ALL_ORDERED_BY_ID, Author.class)).thenReturn(query);
+            when(query.setFetchSize(anyInt())).thenReturn(query);
+            when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(results);
+
+            libraryDAO.streamAllAuthors(author -> fail());
+
+            verify(session).setDefaultReadOnly(true);
+            verify(session).setCacheMode(CacheMode.IGNORE);
+            verify(transaction).commit();
+            verify(session).close();
+        }
+    }
+
+    @Nested
+    class TestGetAuthorsPage {
+        private List<Author> authorsWithIds(long... ids) {
+            List<Author> authors = new ArrayList<>();
+            for (long id : ids) {
+                Author author = new Author("Author " + id, 30, "Thriller");
+                author.setId(id);
+                authors.add(author);
+            }
+            return authors;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Query<Author> mockPageQuery(String queryName, long afterId, List<Author> result) {
+            Session session = mock(Session.class);
+            Query<Author> query = mock(Query.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.createNamedQuery(queryName, Author.class)).thenReturn(query);
+            when(query.setParameter("afterId", afterId)).thenReturn(query);
+            when(query.setMaxResults(anyInt())).thenReturn(query);
+            when(query.getResultList()).thenReturn(result);
+            return query;
+        }
+
+        @Test
+        public void checkIfFirstPageEndsWithCursorOfItsLastAuthor() {
+            Query<Author> query = mockPageQuery(LibraryQueries.AUTHOR_FIND_PAGE, 0L, authorsWithIds(1, 2, 3));
+
+            Page<Author> page = libraryDAO.getAuthorsPage(0, 2);
+
+            assertEquals(List.of(1L, 2L), page.items().stream().map(Author::getId).toList());
+            assertEquals(2L, page.nextCursor());
+            assertTrue(page.hasNext());
+            verify(query).setMaxResults(3);
+        }
+
+        @Test
+        public void checkIfMiddlePageStartsAfterCursor() {
+            Query<Author> query = mockPageQuery(LibraryQueries.AUTHOR_FIND_PAGE, 2L, authorsWithIds(3, 4, 5));
+
+            Page<Author> page = libraryDAO.getAuthorsPage(2, 2);
+
+            assertEquals(List.of(3L, 4L), page.items().stream().map(Author::getId).toList());
+            assertEquals(4L, page.nextCursor());
+            verify(query).setParameter("afterId", 2L);
+            verify(query).setMaxResults(3);
+        }
+
+        @Test
+        public void checkIfLastPageHasNoCursor() {
+            mockPageQuery(LibraryQueries.AUTHOR_FIND_PAGE, 4L, authorsWithIds(5));
+
+            Page<Author> page = libraryDAO.getAuthorsPage(4, 2);
+
+            assertEquals(List.of(5L), page.items().stream().map(Author::getId).toList());
+            assertNull(page.nextCursor());
+            assertFalse(page.hasNext());
+        }
+
+        @Test
+        public void checkIfFullLastPageHasNoCursor() {
+            mockPageQuery(LibraryQueries.AUTHOR_FIND_PAGE, 2L, authorsWithIds(3, 4));
+
+            Page<Author> page = libraryDAO.getAuthorsPage(2, 2);
+
+            assertEquals(List.of(3L, 4L), page.items().stream().map(Author::getId).toList());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        public void checkIfFavouriteGenreIsFilteredByItsOwnQuery() {
+            Query<Author> query = mockPageQuery(LibraryQueries.AUTHOR_FIND_PAGE_BY_FAVOURITE_GENRE, 0L, authorsWithIds(1));
+            when(query.setParameter("favouriteGenre", "Thriller")).thenReturn(query);
+
+            assertEquals(1, libraryDAO.getAuthorsPage(0, 2, "Thriller").items().size());
+
+            verify(query).setParameter("favouriteGenre", "Thriller");
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenPageLimitIsNotPositive() {
+            IllegalArgumentException zeroLimitException = assertThrows(IllegalArgumentException.class, () -> libraryDAO.getAuthorsPage(0, 0));
+            IllegalArgumentException negativeLimitException = assertThrows(IllegalArgumentException.class, () -> libraryDAO.getAuthorsPage(0, -1));
+
+            assertEquals("Page limit must be a positive number.", zeroLimitException.getMessage());
+            assertEquals("Page limit must be a positive number.", negativeLimitException.getMessage());
+            verify(sessionFactory, never()).openSession();
+        }
+    }
+
+    @Nested
+    class TestGetBooksPage {
+        private List<Book> booksWithIds(long... ids) {
+            List<Book> books = new ArrayList<>();
+            for (long id : ids) {
+                Book book = new Book("Book " + id, "Fantasy", 300);
+                book.setId(id);
+                books.add(book);
+            }
+            return books;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Query<Book> mockPageQuery(String queryName, long afterId, List<Book> result) {
+            Session session = mock(Session.class);
+            Query<Book> query = mock(Query.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.createNamedQuery(queryName, Book.class)).thenReturn(query);
+            when(query.setParameter("afterId", afterId)).thenReturn(query);
+            when(query.setMaxResults(anyInt())).thenReturn(query);
+            when(query.getResultList()).thenReturn(result);
+            return query;
+        }
+
+        @Test
+        public void checkIfFirstPageEndsWithCursorOfItsLastBook() {
+            Query<Book> query = mockPageQuery(LibraryQueries.BOOK_FIND_PAGE, 0L, booksWithIds(1, 2, 3, 4));
+
+            Page<Book> page = libraryDAO.getBooksPage(0, 3);
+
+            assertEquals(List.of(1L, 2L, 3L), page.items().stream().map(Book::getId).toList());
+            assertEquals(3L, page.nextCursor());
+            verify(query).setMaxResults(4);
+        }
+
+        @Test
+        public void checkIfMiddlePageStartsAfterCursor() {
+            Query<Book> query = mockPageQuery(LibraryQueries.BOOK_FIND_PAGE, 3L, booksWithIds(4, 5, 6, 7));
+
+            Page<Book> page = libraryDAO.getBooksPage(3, 3);
+
+            assertEquals(List.of(4L, 5L, 6L), page.items().stream().map(Book::getId).toList());
+            assertEquals(6L, page.nextCursor());
+            verify(query).setParameter("afterId", 3L);
+        }
+
+        @Test
+        public void checkIfLastPageHasNoCursor() {
+            mockPageQuery(LibraryQueries.BOOK_FIND_PAGE, 6L, booksWithIds(7));
+
+            Page<Book> page = libraryDAO.getBooksPage(6, 3);
+
+            assertEquals(List.of(7L), page.items().stream().map(Book::getId).toList());
+            assertNull(page.nextCursor());
+            assertFalse(page.hasNext());
+        }
+
+        @Test
+        public void checkIfGenreAndAuthorAreFilteredByTheirOwnQuery() {
+            Query<Book> query = mockPageQuery(LibraryQueries.BOOK_FIND_PAGE_BY_GENRE_AND_AUTHOR_NAME, 0L, booksWithIds(1));
+            when(query.setParameter("genre", "Fantasy")).thenReturn(query);
+            when(query.setParameter("authorName", "Tolkien")).thenReturn(query);
+
+            assertEquals(1, libraryDAO.getBooksPage(0, 3, "Fantasy", "Tolkien").items().size());
+
+            verify(query).setParameter("genre", "Fantasy");
+            verify(query).setParameter("authorName", "Tolkien");
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenPageLimitIsNotPositive() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> libraryDAO.getBooksPage(0, 0, "Fantasy", null));
+
+            assertEquals("Page limit must be a positive number.", exception.getMessage());
+            verify(sessionFactory, never()).openSession();
+        }
+    }
+
+    @Nested
+    class TestAddAuthors {
+        @Test
+        public void checkIfAuthorsHaveBeenAddedInOneTransaction() {
+            List<Author> authors = List.of(new Author("John Doe", 30, "Thriller"), new Author("Jane Doe", 40, "Drama"));
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            libraryDAO.addAuthors(authors);
+
+            verify(sessionFactory, times(1)).openSession();
+            verify(session).persist(authors.get(0));
+            verify(session).persist(authors.get(1));
+            verify(transaction, times(1)).commit();
+        }
+
+        @Test
+        public void checkIfSessionIsFlushedAndClearedAfterEachBatch() {
+            List<Author> authors = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                authors.add(new Author("Author " + i, 30, "Thriller"));
+            }
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            libraryDAO.addAuthors(authors);
+
+            verify(session, times(2)).flush();
+            verify(session, times(2)).clear();
+            verify(transaction).commit();
+        }
+
+        @Test
+        public void checkIfBatchSizeIsTakenFromJdbcBatchSizeSetting() {
+            when(sessionFactory.getProperties()).thenReturn(Map.of(AvailableSettings.STATEMENT_BATCH_SIZE, "20"));
+            LibraryDAO batchingLibraryDAO = new LibraryDAO(sessionFactory);
+            List<Author> authors = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                authors.add(new Author("Author " + i, 30, "Thriller"));
+            }
+            Session session = mock(Session.class);
+            Transaction transaction = mock(Transaction.class);
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+
+            batchingLibraryDAO.addAuthors(authors);
+
+            verify(session, times(6)).flush();
+            verify(session, times(6)).clear();
+            verify(transaction).commit();
+        }
+
+        @Test
+        public void checkThrowingExceptionBeforeTransactionWhenAuthorNameIsGivenTwice() {
+            List<Author> authors = List.of(new Author("John Doe", 30, "Thriller"), new Author("Jane Doe", 40, "Drama"), new Author("John Doe", 50, "Horror"));
+
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.addAuthors(authors);
+
+            assertTrue(outContent.toString().contains("Author with name John Doe is given more than once."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+
+        @Test
+        public void checkThrowingExceptionBeforeTransactionWhenAnyAuthorIsInvalid() {
+            List<Author> authors = List.of(new Author("John Doe", 30, "Thriller"), new Author("", 40, "Drama"));
+
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.addAuthors(authors);
+
+            assertTrue(outContent.toString().contains("Author's name cannot be null or empty."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+    }
+
+    @Nested
+    class TestAddBooksToAuthors {
+        @Test
+        public void checkThrowingExceptionBeforeTransactionWhenAnyBookIsInvalid() {
+            Map<String, List<Book>> booksByAuthorName = Map.of("John Doe", List.of(new Book("Title", "Fantasy", 250), new Book("Title 2", "Fantasy", 0)));
+
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.addBooksToAuthors(booksByAuthorName);
+
+            assertTrue(outContent.toString().contains("Book's number of pages must be a positive number between 1 and 3000."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+
+        @Test
+        public void checkThrowingExceptionBeforeTransactionWhenAuthorNameIsEmpty() {
+            Map<String, List<Book>> booksByAuthorName = Map.of("", List.of(new Book("Title", "Fantasy", 250)));
+
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.addBooksToAuthors(booksByAuthorName);
+
+            assertTrue(outContent.toString().contains("Author's name cannot be null or empty."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+    }
+
     @Nested
     class TestUpdateBookTitle {
         @Test
         public void checkIfTitleHasBeenUpdatedSuccessfully() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_TITLE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateBookTitle(book.getTitle(), "New Title");
 
-            verify(session).merge(book);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findBookByTitle(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenBookWasNotFound() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Book with title " + book.getTitle() + " was not found.")).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_TITLE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -308,13 +762,6 @@ public class LibraryDAOTest {
 
         private void testIfInvalidNewTitleThrowsExceptionAndReturnAMessage(String newTitle, String expectedMessage) {
             Book book = new Book("Title", "Fantasy", 250);
-            Session session = mock(Session.class);
-            Transaction transaction = mock(Transaction.class);
-
-            when(sessionFactory.openSession()).thenReturn(session);
-            when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
-
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
@@ -322,6 +769,7 @@ public class LibraryDAOTest {
             libraryDAO.updateBookTitle(book.getTitle(), newTitle);
 
             assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -333,29 +781,37 @@ public class LibraryDAOTest {
         public void checkIfGenreHasBeenUpdatedSuccessfully() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_GENRE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateBookGenre(book.getTitle(), "New Genre");
 
-            verify(session).merge(book);
+            verify(mutationQuery).setParameter("newGenre", "New Genre");
+            verify(mutationQuery).setParameter("title", book.getTitle());
+            verify(mutationQuery).executeUpdate();
+            verify(session, never()).createMutationQuery(any(CriteriaUpdate.class));
             verify(transaction).commit();
+            verify(libraryDAO, never()).findBookByTitle(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenBookWasNotFound() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Book with title " + book.getTitle() + " was not found.")).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_GENRE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -384,13 +840,6 @@ public class LibraryDAOTest {
 
         private void testIfInvalidNewGenreThrowsExceptionAndReturnAMessage(String newGenre, String expectedMessage) {
             Book book = new Book("Title", "Fantasy", 250);
-            Session session = mock(Session.class);
-            Transaction transaction = mock(Transaction.class);
-
-            when(sessionFactory.openSession()).thenReturn(session);
-            when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
-
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
@@ -398,6 +847,7 @@ public class LibraryDAOTest {
             libraryDAO.updateBookGenre(book.getTitle(), newGenre);
 
             assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -409,29 +859,34 @@ public class LibraryDAOTest {
         public void checkIfNumberOfPagesHasBeenUpdatedSuccessfully() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_NUMBER_OF_PAGES)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateBookNumberOfPages(book.getTitle(), 260);
 
-            verify(session).merge(book);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findBookByTitle(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenBookWasNotFound() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Book with title " + book.getTitle() + " was not found.")).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_NUMBER_OF_PAGES)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -467,13 +922,6 @@ public class LibraryDAOTest {
 
         private void testIfInvalidNewNumberOfPagesThrowsExceptionAndReturnAMessage(Integer newNumberOfPages, String expectedMessage) {
             Book book = new Book("Title", "Fantasy", 250);
-            Session session = mock(Session.class);
-            Transaction transaction = mock(Transaction.class);
-
-            when(sessionFactory.openSession()).thenReturn(session);
-            when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
-
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
@@ -481,6 +929,7 @@ public class LibraryDAOTest {
             libraryDAO.updateBookNumberOfPages(book.getTitle(), newNumberOfPages);
 
             assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -491,32 +940,39 @@ public class LibraryDAOTest {
         @Test
         public void checkIfAuthorHasBeenUpdatedSuccessfully() {
             Author newAuthor = new Author("New Author", 30, "Genre");
+            newAuthor.setId(7);
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_AUTHOR)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateBookAuthor(book.getTitle(), newAuthor);
 
-            verify(session).merge(book);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findBookByTitle(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenBookWasNotFound() {
             Author newAuthor = mock(Author.class);
+            when(newAuthor.getId()).thenReturn(7L);
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Book with title " + book.getTitle() + " was not found.")).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createNamedMutationQuery(LibraryQueries.BOOK_UPDATE_AUTHOR)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -533,20 +989,96 @@ public class LibraryDAOTest {
         public void checkThrowingExceptionWhenNewAuthorIsNull() {
             Book book = new Book("Title", "Fantasy", 250);
 
-            Session session = mock(Session.class);
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.updateBookAuthor(book.getTitle(), null);
+
+            assertTrue(outContent.toString().contains("Book's author cannot be null."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenNewAuthorWasNotSaved() {
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.updateBookAuthor("Title", new Author("New Author", 30, "Genre"));
+
+            assertTrue(outContent.toString().contains("Book's author must be an existing author."));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+    }
+
+    @Nested
+    class TestUpdateBook {
+        @Test
+        public void checkIfBookHasBeenUpdatedWithSingleStatement() {
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(book).when(libraryDAO).findBookByTitle(book.getTitle());
+            when(session.createMutationQuery(any(CriteriaUpdate.class))).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
+
+            libraryDAO.updateBook("Title", new BookPatch(null, "Horror", 300, null));
+
+            verify(mutationQuery).executeUpdate();
+            verify(transaction).commit();
+            verify(libraryDAO, never()).findBookByTitle(anyString());
+            verify(session, never()).merge(any());
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenBookWasNotFound() {
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
+            Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
+
+            when(sessionFactory.openSession()).thenReturn(session);
+            when(session.beginTransaction()).thenReturn(transaction);
+            when(session.createMutationQuery(any(CriteriaUpdate.class))).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
 
-            libraryDAO.updateBookAuthor(book.getTitle(), null);
+            libraryDAO.updateBook("Title", BookPatch.ofGenre("Horror"));
 
-            assertTrue(outContent.toString().contains("Book's author cannot be null."));
+            assertTrue(outContent.toString().contains("Book with title Title was not found."));
+            verify(transaction, never()).commit();
+
+            System.setOut(originalOut);
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenPatchIsEmpty() {
+            testIfInvalidPatchThrowsExceptionAndReturnAMessage(new BookPatch(null, null, null, null), "Book's patch must change at least one field.");
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenNewNumberOfPagesIsAboveTheLimit() {
+            testIfInvalidPatchThrowsExceptionAndReturnAMessage(BookPatch.ofNumberOfPages(3001), "Book's number of pages must be a positive number between 1 and 3000.");
+        }
+
+        private void testIfInvalidPatchThrowsExceptionAndReturnAMessage(BookPatch patch, String expectedMessage) {
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.updateBook("Title", patch);
+
+            assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -558,29 +1090,34 @@ public class LibraryDAOTest {
         public void checkIfNameHasBeenUpdatedSuccessfully() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_NAME)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateAuthorName(author.getName(), "New Name");
 
-            verify(session).merge(author);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findAuthorByName(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenAuthorWasNotFound() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Author with name " + author.getName() + " was not found.")).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_NAME)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -610,13 +1147,6 @@ public class LibraryDAOTest {
         private void testIfInvalidNewNameThrowsExceptionAndReturnAMessage(String newName, String expectedMessage) {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
-            Transaction transaction = mock(Transaction.class);
-
-            when(sessionFactory.openSession()).thenReturn(session);
-            when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
-
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
@@ -624,6 +1154,7 @@ public class LibraryDAOTest {
             libraryDAO.updateAuthorName(author.getName(), newName);
 
             assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -635,29 +1166,34 @@ public class LibraryDAOTest {
         public void checkIfAgeHasBeenUpdatedSuccessfully() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_AGE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateAuthorAge(author.getName(), 55);
 
-            verify(session).merge(author);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findAuthorByName(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenAuthorWasNotFound() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Author with name " + author.getName() + " was not found.")).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_AGE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -694,13 +1230,6 @@ public class LibraryDAOTest {
         private void testIfInvalidNewAgeThrowsExceptionAndReturnAMessage(Integer newAge, String expectedMessage) {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
-            Transaction transaction = mock(Transaction.class);
-
-            when(sessionFactory.openSession()).thenReturn(session);
-            when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
-
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
@@ -708,6 +1237,7 @@ public class LibraryDAOTest {
             libraryDAO.updateAuthorAge(author.getName(), newAge);
 
             assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
@@ -719,29 +1249,34 @@ public class LibraryDAOTest {
         public void checkIfFavouriteGenreHasBeenUpdatedSuccessfully() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_FAVOURITE_GENRE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
             libraryDAO.updateAuthorFavouriteGenre(author.getName(), "New Favourite Genre");
 
-            verify(session).merge(author);
+            verify(mutationQuery).executeUpdate();
             verify(transaction).commit();
+            verify(libraryDAO, never()).findAuthorByName(anyString());
         }
 
         @Test
         public void checkThrowingExceptionWhenAuthorWasNotFound() {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doThrow(new NoResultException("Author with name " + author.getName() + " was not found.")).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createNamedMutationQuery(LibraryQueries.AUTHOR_UPDATE_FAVOURITE_GENRE)).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(0);
 
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -771,20 +1306,49 @@ public class LibraryDAOTest {
         private void testIfInvalidNewFavouriteGenreThrowsExceptionAndReturnAMessage(String newFavouriteGenre, String expectedMessage) {
             Author author = new Author("Name", 44, "Favourite Genre");
 
-            Session session = mock(Session.class);
+            PrintStream originalOut = System.out;
+            ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outContent));
+
+            libraryDAO.updateAuthorFavouriteGenre(author.getName(), newFavouriteGenre);
+
+            assertTrue(outContent.toString().contains(expectedMessage));
+            verify(sessionFactory, never()).openSession();
+
+            System.setOut(originalOut);
+        }
+    }
+
+    @Nested
+    class TestUpdateAuthor {
+        @Test
+        public void checkIfAuthorHasBeenUpdatedWithSingleStatement() {
+            Session session = mock(Session.class, RETURNS_DEEP_STUBS);
             Transaction transaction = mock(Transaction.class);
+            MutationQuery mutationQuery = mock(MutationQuery.class, RETURNS_SELF);
 
             when(sessionFactory.openSession()).thenReturn(session);
             when(session.beginTransaction()).thenReturn(transaction);
-            doReturn(author).when(libraryDAO).findAuthorByName(author.getName());
+            when(session.createMutationQuery(any(CriteriaUpdate.class))).thenReturn(mutationQuery);
+            when(mutationQuery.executeUpdate()).thenReturn(1);
 
+            libraryDAO.updateAuthor("Name", new AuthorPatch(null, 50, "Horror"));
+
+            verify(mutationQuery).executeUpdate();
+            verify(transaction).commit();
+            verify(libraryDAO, never()).findAuthorByName(anyString());
+        }
+
+        @Test
+        public void checkThrowingExceptionWhenNewAgeIsAboveTheLimit() {
             PrintStream originalOut = System.out;
             ByteArrayOutputStream outContent = new ByteArrayOutputStream();
             System.setOut(new PrintStream(outContent));
 
-            libraryDAO.updateAuthorFavouriteGenre(author.getName(), newFavouriteGenre);
+            libraryDAO.updateAuthor("Name", AuthorPatch.ofAge(121));
 
-            assertTrue(outContent.toString().contains(expectedMessage));
+            assertTrue(outContent.toString().contains("Author's age must be a positive number less than 120."));
+            verify(sessionFactory, never()).openSession();
 
             System.setOut(originalOut);
         }
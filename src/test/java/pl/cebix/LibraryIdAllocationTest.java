@@ -0,0 +1,91 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryIdAllocationTest {
+    private static SessionFactory sessionFactory;
+    private static LibraryDAO libraryDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("id-allocation"));
+        libraryDAO = new LibraryDAO(sessionFactory);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    private static SequenceStyleGenerator generatorOf(SessionFactory sessionFactory, Class<?> entityClass) {
+        return (SequenceStyleGenerator) sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass)
+                .getGenerator();
+    }
+
+    private static long sequenceCalls(List<String> statements, String sequenceName) {
+        return statements.stream().filter(sql -> sql.contains("next value for " + sequenceName)).count();
+    }
+
+    @Test
+    public void checkIfIdsComeFromPooledLoSequencesOfFifty() {
+        for (Class<?> entityClass : List.of(Author.class, Book.class)) {
+            SequenceStyleGenerator generator = generatorOf(sessionFactory, entityClass);
+
+            assertEquals(entityClass.getSimpleName() + "_SEQ", generator.getDatabaseStructure().getPhysicalName().getObjectName().getText());
+            assertInstanceOf(PooledLoOptimizer.class, generator.getOptimizer());
+            assertEquals(50, generator.getOptimizer().getIncrementSize());
+        }
+    }
+
+    @Test
+    public void checkIfSequenceIsCalledOncePerFiftyIds() {
+        List<Author> authors = IntStream.range(0, 60).mapToObj(i -> new Author("Author " + i, 40, "Drama")).toList();
+        List<Book> books = IntStream.range(0, 60).mapToObj(i -> new Book("Book " + i, "Drama", 100)).toList();
+
+        LibrarySqlMonitor.startRecording();
+        libraryDAO.addAuthors(authors);
+        libraryDAO.addBooksToAuthors(Map.of("Author 0", books));
+        List<String> statements = LibrarySqlMonitor.stopRecording();
+
+        assertEquals(2, sequenceCalls(statements, "Author_SEQ"));
+        assertEquals(2, sequenceCalls(statements, "Book_SEQ"));
+
+        long firstAuthorId = authors.get(0).getId();
+        assertEquals(LongStream.range(firstAuthorId, firstAuthorId + 60).boxed().toList(), authors.stream().map(Author::getId).toList());
+    }
+
+    @Test
+    public void checkIfAllocationSizeIsTakenFromSettings() {
+        Map<String, String> settings = H2TestSettings.forDatabase("id-allocation-configured");
+        settings.put(LibrarySequenceGenerator.ALLOCATION_SIZE, "10");
+
+        try (SessionFactory configuredSessionFactory = LibrarySessionFactory.getAuthorSessionFactory(settings);
+             Session session = configuredSessionFactory.openSession()) {
+            for (Class<?> entityClass : List.of(Author.class, Book.class)) {
+                SequenceStyleGenerator generator = generatorOf(configuredSessionFactory, entityClass);
+
+                assertInstanceOf(PooledLoOptimizer.class, generator.getOptimizer());
+                assertEquals(10, generator.getOptimizer().getIncrementSize());
+                assertEquals(10L, session.createNativeQuery("select increment from information_schema.sequences where sequence_name = :sequenceName", Long.class)
+                        .setParameter("sequenceName", entityClass.getSimpleName().toLowerCase() + "_seq")
+                        .getSingleResult());
+            }
+        }
+    }
+}
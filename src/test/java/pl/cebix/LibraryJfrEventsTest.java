@@ -0,0 +1,118 @@
+package pl.cebix;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryJfrEventsTest {
+    private static SessionFactory sessionFactory;
+    private static LibraryDAO libraryDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("jfr"));
+        libraryDAO = new LibraryDAO(sessionFactory);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    private static List<RecordedEvent> record(Runnable work) throws IOException {
+        Path recordingFile = Files.createTempFile("library", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("pl.cebix.LibraryOperation");
+            recording.enable("pl.cebix.LibrarySession");
+            recording.enable("pl.cebix.LibraryTransaction");
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(recordingFile);
+
+            return RecordingFile.readAllEvents(recordingFile);
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    public void checkIfOperationEventsAreEmitted() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            libraryDAO.addAuthor(new Author("Olga Tokarczuk", 61, "Drama"));
+            libraryDAO.findAuthorByName("Olga Tokarczuk");
+        });
+
+        List<RecordedEvent> operations = eventsNamed(events, "pl.cebix.LibraryOperation");
+        RecordedEvent addAuthor = operations.stream().filter(event -> event.getString("operation").equals("addAuthor")).findFirst().orElseThrow();
+        assertEquals("Olga Tokarczuk", addAuthor.getString("key"));
+        assertEquals(1, addAuthor.getLong("rowCount"));
+        assertTrue(addAuthor.getBoolean("succeeded"));
+        assertTrue(addAuthor.getLong("statementCount") > 0);
+        assertTrue(operations.stream().anyMatch(event -> event.getString("operation").equals("findAuthorByName")));
+    }
+
+    @Test
+    public void checkIfSessionAndTransactionEventsAreEmitted() throws IOException {
+        List<RecordedEvent> events = record(() -> libraryDAO.addAuthor(new Author("Wis\u0142awa Szymborska", 88, "Poetry")));
+
+        RecordedEvent session = eventsNamed(events, "pl.cebix.LibrarySession").get(0);
+        assertTrue(session.getLong("statementCount") > 0);
+        assertEquals(1, session.getLong("transactionCount"));
+        assertEquals(1, session.getLong("flushedEntityCount"));
+
+        RecordedEvent transaction = eventsNamed(events, "pl.cebix.LibraryTransaction").get(0);
+        assertTrue(transaction.getBoolean("committed"));
+        assertEquals(1, transaction.getLong("flushedEntityCount"));
+    }
+
+    @Test
+    public void checkIfStreamClosedAfterFailureIsReportedAsNotSucceeded() throws IOException {
+        libraryDAO.addAuthor(new Author("Stanis\u0142aw Lem", 84, "Science fiction"));
+        libraryDAO.addBookToAuthor("Stanis\u0142aw Lem", new Book("Solaris", "Science fiction", 204));
+
+        List<RecordedEvent> events = record(() -> {
+            libraryDAO.streamAllBooks(book -> {
+            });
+            assertThrows(IllegalStateException.class, () -> libraryDAO.streamAllBooks(book -> {
+                throw new IllegalStateException("Export failed.");
+            }));
+        });
+
+        List<RecordedEvent> streams = eventsNamed(events, "pl.cebix.LibraryOperation").stream()
+                .filter(event -> event.getString("operation").equals("streamAllBooks"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(2, streams.size());
+        assertTrue(streams.get(0).getBoolean("succeeded"));
+        assertFalse(streams.get(1).getBoolean("succeeded"));
+    }
+
+    @Test
+    public void checkIfRolledBackTransactionIsReportedAsNotCommitted() throws IOException {
+        List<RecordedEvent> events = record(() -> libraryDAO.inTransaction(dao -> {
+            throw new IllegalStateException("Rolled back.");
+        }));
+
+        List<RecordedEvent> transactions = eventsNamed(events, "pl.cebix.LibraryTransaction");
+        assertEquals(1, transactions.size());
+        assertFalse(transactions.get(0).getBoolean("committed"));
+    }
+}
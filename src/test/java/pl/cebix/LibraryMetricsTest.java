@@ -0,0 +1,47 @@
+package pl.cebix;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryMetricsTest {
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @AfterEach
+    public void tearDown() throws JMException {
+        for (ObjectName objectName : registeredOperations()) {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+
+    @Test
+    public void checkIfEveryMetricsInstancePublishesItsOwnOperations() throws JMException {
+        LibraryMetrics firstMetrics = new LibraryMetrics("LibraryMetricsTest", true);
+        LibraryMetrics secondMetrics = new LibraryMetrics("LibraryMetricsTest", true);
+
+        firstMetrics.start("addAuthor").close();
+        secondMetrics.start("addAuthor").close();
+        firstMetrics.start("addAuthor").close();
+
+        List<Long> calls = new ArrayList<>();
+        for (ObjectName objectName : registeredOperations()) {
+            calls.add((Long) mBeanServer.getAttribute(objectName, "Calls"));
+        }
+        calls.sort(null);
+
+        assertEquals(List.of(1L, 2L), calls);
+    }
+
+    private Set<ObjectName> registeredOperations() throws JMException {
+        return mBeanServer.queryNames(new ObjectName("pl.cebix:type=LibraryMetricsTest,*"), null);
+    }
+}
@@ -0,0 +1,85 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryQueryReportTest {
+    private static Map<String, String> h2Settings(boolean reportQueries) {
+        Map<String, String> settings = H2TestSettings.forDatabase("query-report");
+        settings.put(LibraryQueryReport.REPORT_QUERIES, String.valueOf(reportQueries));
+
+        return settings;
+    }
+
+    @Test
+    public void checkIfEveryNamedQueryIsTranslatedWithoutRunningIt() {
+        try (SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(h2Settings(false))) {
+            LibrarySqlMonitor.startRecording();
+            Map<String, String> sqlByQueryName = LibraryQueryReport.compileNamedQueries(sessionFactory);
+            List<String> executedStatements = LibrarySqlMonitor.stopRecording();
+
+            assertEquals(LibraryQueries.NAMES, List.copyOf(sqlByQueryName.keySet()));
+            sqlByQueryName.values().forEach(sql -> assertTrue(sql.startsWith("select "), sql));
+            assertTrue(sqlByQueryName.get(LibraryQueries.AUTHOR_FIND_PAGE).contains("?"));
+            assertTrue(sqlByQueryName.get(LibraryQueries.BOOK_FIND_SUMMARIES).contains(" join "));
+            assertTrue(executedStatements.isEmpty());
+        }
+    }
+
+    @Test
+    public void checkIfFailingQueryIsReportedAndTheRestAreStillCompiled() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Map<String, String> sqlByQueryName;
+
+        try (SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(h2Settings(false))) {
+            System.setOut(new PrintStream(output));
+            sqlByQueryName = LibraryQueryReport.compileNamedQueries(sessionFactory, List.of("Author.missing", LibraryQueries.AUTHOR_FIND_PAGE));
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(List.of(LibraryQueries.AUTHOR_FIND_PAGE), List.copyOf(sqlByQueryName.keySet()));
+        assertTrue(output.toString().startsWith("Could not compile named query Author.missing: "));
+    }
+
+    @Test
+    public void checkIfReportIsOffByDefault() {
+        Map<String, String> settings = h2Settings(false);
+        settings.remove(LibraryQueryReport.REPORT_QUERIES);
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+
+        try {
+            LibrarySessionFactory.getAuthorSessionFactory(settings).close();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertFalse(output.toString().contains("Named queries compiled at startup:"));
+    }
+
+    @Test
+    public void checkIfReportIsPrintedAtStartup() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+
+        try {
+            LibrarySessionFactory.getAuthorSessionFactory(h2Settings(true)).close();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertTrue(output.toString().contains("Named queries compiled at startup:"));
+        assertTrue(output.toString().contains("  " + LibraryQueries.BOOK_FIND_BY_AUTHOR_NAME + " -> select "));
+    }
+}
@@ -0,0 +1,76 @@
+package pl.cebix;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibrarySchemaCheckTest {
+    private static Map<String, String> h2Settings(String databaseName, String schemaMode) {
+        Map<String, String> settings = H2TestSettings.forDatabase(databaseName);
+        settings.put("hibernate.hbm2ddl.auto", schemaMode);
+        settings.put(LibrarySchemaCheck.VERIFY_INDEXES, "true");
+
+        return settings;
+    }
+
+    private static void execute(SessionFactory sessionFactory, String sql) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.createNativeMutationQuery(sql).executeUpdate();
+            session.getTransaction().commit();
+        }
+    }
+
+    @Test
+    public void checkIfSchemaWithRequiredIndexesPassesVerification() {
+        try (SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(h2Settings("schema-check", "create"))) {
+            assertDoesNotThrow(() -> LibrarySchemaCheck.verifyIndexes(sessionFactory));
+        }
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenIndexIsMissing() {
+        try (SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(h2Settings("schema-check-missing", "create"))) {
+            execute(sessionFactory, "alter table book drop constraint \"" + foreignKeyOfBookAuthor(sessionFactory) + "\"");
+            execute(sessionFactory, "drop index idx_book_author_id");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> LibrarySchemaCheck.verifyIndexes(sessionFactory));
+
+            assertEquals("Required indexes are missing in the database: [index on book(author_id)]", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void checkIfStartupFailsWhenIndexIsMissing() {
+        try (SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(h2Settings("schema-check-startup", "create"))) {
+            execute(sessionFactory, "alter table author drop constraint \"" + uniqueConstraintOfAuthorName(sessionFactory) + "\"");
+        }
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> LibrarySessionFactory.getAuthorSessionFactory(h2Settings("schema-check-startup", "none")));
+
+        assertEquals("Required indexes are missing in the database: [unique index on author(name)]", exception.getMessage());
+    }
+
+    private static String foreignKeyOfBookAuthor(SessionFactory sessionFactory) {
+        return constraintName(sessionFactory, "book", "FOREIGN KEY");
+    }
+
+    private static String uniqueConstraintOfAuthorName(SessionFactory sessionFactory) {
+        return constraintName(sessionFactory, "author", "UNIQUE");
+    }
+
+    private static String constraintName(SessionFactory sessionFactory, String tableName, String constraintType) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createNativeQuery("select constraint_name from information_schema.table_constraints "
+                            + "where table_name = :tableName and constraint_type = :constraintType", String.class)
+                    .setParameter("tableName", tableName)
+                    .setParameter("constraintType", constraintType)
+                    .getSingleResult();
+        }
+    }
+}
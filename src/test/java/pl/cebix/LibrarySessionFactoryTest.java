@@ -0,0 +1,47 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibrarySessionFactoryTest {
+    private static final Map<String, String> H2_SETTINGS = Map.copyOf(H2TestSettings.forDatabase("shared-factory"));
+
+    @BeforeEach
+    public void setUp() {
+        H2_SETTINGS.forEach(System::setProperty);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        H2_SETTINGS.keySet().forEach(System::clearProperty);
+    }
+
+    @Test
+    public void checkIfSharedSessionFactoryIsBuiltOnce() {
+        SessionFactory sessionFactory = LibrarySessionFactory.getAuthorSessionFactory();
+
+        try {
+            assertSame(sessionFactory, LibrarySessionFactory.getAuthorSessionFactory());
+        } finally {
+            sessionFactory.close();
+        }
+
+        SessionFactory rebuiltSessionFactory = LibrarySessionFactory.getAuthorSessionFactory();
+        assertNotSame(sessionFactory, rebuiltSessionFactory);
+        rebuiltSessionFactory.close();
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenSchemaModeIsNotSupported() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LibrarySessionFactory.getAuthorSessionFactory(Map.of("hibernate.hbm2ddl.auto", "create-drop")));
+
+        assertEquals("Schema mode create-drop is not supported. Use one of: validate, none, update, create.", exception.getMessage());
+    }
+}
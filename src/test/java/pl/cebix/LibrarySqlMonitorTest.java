@@ -0,0 +1,85 @@
+package pl.cebix;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibrarySqlMonitorTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream standardOutput = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(output));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(standardOutput);
+    }
+
+    @Test
+    public void checkIfSlowStatementIsLoggedWithBindValues() throws SQLException {
+        String sql = "select count(*) from information_schema.tables where table_name = ? and table_schema = ?";
+
+        try (Connection connection = LibraryConnectionProvider.recordBinds(DriverManager.getConnection("jdbc:h2:mem:sql-monitor", "sa", ""));
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, "AUTHOR");
+            statement.setString(2, "PUBLIC");
+            new LibrarySqlMonitor("5").inspect(sql);
+            statement.executeQuery().close();
+            LibrarySqlMonitor.statementExecuted(7_000_000);
+        }
+
+        assertEquals("Slow SQL (7 ms): " + sql + " binds {1=AUTHOR, 2=PUBLIC}", output.toString().trim());
+    }
+
+    @Test
+    public void checkIfSlowBatchIsLoggedWithBindValuesOfEveryRow() throws SQLException {
+        try (Connection connection = LibraryConnectionProvider.recordBinds(DriverManager.getConnection("jdbc:h2:mem:sql-monitor-batch", "sa", ""))) {
+            connection.createStatement().execute("create table genre (name varchar(20))");
+            try (PreparedStatement statement = connection.prepareStatement("insert into genre (name) values (?)")) {
+                statement.setString(1, "Horror");
+                statement.addBatch();
+                statement.setString(1, "Fantasy");
+                statement.addBatch();
+                new LibrarySqlMonitor("5").inspect("insert into genre (name) values (?)");
+                statement.executeBatch();
+                LibrarySqlMonitor.statementExecuted(9_000_000);
+            }
+        }
+
+        assertEquals("Slow SQL (9 ms): insert into genre (name) values (?) binds [{1=Horror}, {1=Fantasy}]", output.toString().trim());
+    }
+
+    @Test
+    public void checkIfSlowStatementIsLoggedWithoutBindValuesWhenNoneWereRecorded() {
+        new LibrarySqlMonitor("5").inspect("select a from Author a where a.name = ?");
+        LibrarySqlMonitor.statementExecuted(7_000_000);
+
+        assertEquals("Slow SQL (7 ms): select a from Author a where a.name = ?", output.toString().trim());
+    }
+
+    @Test
+    public void checkIfFastStatementIsCountedAndRecordedButNotLogged() {
+        long statementCount = LibrarySqlMonitor.getStatementCount();
+        new LibrarySqlMonitor("100").inspect("select b from Book b");
+
+        LibrarySqlMonitor.startRecording();
+        LibrarySqlMonitor.statementExecuted(1_000);
+
+        assertEquals(List.of("select b from Book b"), LibrarySqlMonitor.stopRecording());
+        assertEquals(statementCount + 1, LibrarySqlMonitor.getStatementCount());
+        assertEquals("", output.toString());
+    }
+}
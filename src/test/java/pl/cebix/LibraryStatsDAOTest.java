@@ -0,0 +1,78 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryStatsDAOTest {
+    private static SessionFactory sessionFactory;
+    private static LibraryStatsDAO libraryStatsDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("stats"));
+        libraryStatsDAO = new LibraryStatsDAO(sessionFactory);
+
+        LibraryDAO libraryDAO = new LibraryDAO(sessionFactory);
+        libraryDAO.addAuthors(List.of(
+                new Author("Tolkien", 81, "Fantasy"),
+                new Author("Rowling", 58, "Fantasy"),
+                new Author("King", 76, "Horror")
+        ));
+        libraryDAO.addBooksToAuthors(Map.of(
+                "Tolkien", List.of(new Book("The Hobbit", "Fantasy", 310), new Book("The Silmarillion", "Fantasy", 365)),
+                "Rowling", List.of(new Book("Harry Potter", "Fantasy", 223)),
+                "King", List.of(new Book("It", "Horror", 1138), new Book("Carrie", "Horror", 199), new Book("The Shining", "Horror", 447))
+        ));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfBooksAreCountedPerAuthor() {
+        List<AuthorSummary> bookCounts = libraryStatsDAO.getBookCountPerAuthor();
+
+        assertEquals(List.of(2L, 1L, 3L), bookCounts.stream().map(AuthorSummary::bookCount).toList());
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfTopAuthorsAreOrderedByBookCount() {
+        List<AuthorSummary> topAuthors = libraryStatsDAO.getTopAuthorsByBookCount(2);
+
+        assertEquals(List.of("King", "Tolkien"), topAuthors.stream().map(AuthorSummary::name).toList());
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfPagesAreAggregatedPerGenre() {
+        assertEquals(List.of(
+                new GenreStatistics("Fantasy", 3, 898, 898 / 3.0),
+                new GenreStatistics("Horror", 3, 1784, 1784 / 3.0)
+        ), libraryStatsDAO.getStatisticsPerGenre());
+    }
+
+    @Test
+    @MaxStatements(1)
+    public void checkIfAuthorsAreCountedPerFavouriteGenre() {
+        assertEquals(List.of(new FavouriteGenreCount("Fantasy", 2), new FavouriteGenreCount("Horror", 1)),
+                libraryStatsDAO.getAuthorCountPerFavouriteGenre());
+    }
+
+    @Test
+    public void checkThrowingExceptionWhenLimitIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> libraryStatsDAO.getTopAuthorsByBookCount(0));
+
+        assertEquals("Limit must be a positive number.", exception.getMessage());
+    }
+}
@@ -0,0 +1,50 @@
+package pl.cebix;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LibraryUnitOfWorkTest {
+    private static SessionFactory sessionFactory;
+    private static LibraryDAO libraryDAO;
+
+    @BeforeAll
+    public static void setUp() {
+        sessionFactory = LibrarySessionFactory.getAuthorSessionFactory(H2TestSettings.forDatabase("unit-of-work"));
+        libraryDAO = new LibraryDAO(sessionFactory);
+        libraryDAO.addAuthor(new Author("Henryk Sienkiewicz", 69, "Historical"));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void checkIfBatchInsertKeepsEntitiesLoadedEarlierInUnitOfWorkManaged() {
+        List<Author> authors = IntStream.range(0, 120).mapToObj(i -> new Author("Batch Author " + i, 30, "Drama")).toList();
+        List<Book> books = IntStream.range(0, 120).mapToObj(i -> new Book("Batch Book " + i, "Drama", 100)).toList();
+
+        assertTrue(libraryDAO.inTransaction(dao -> {
+            Author author = dao.findAuthorByName("Henryk Sienkiewicz");
+            author.setAge(70);
+
+            dao.addAuthors(authors);
+            dao.addBooksToAuthors(Map.of("Batch Author 0", books));
+
+            author.setFavouriteGenre("Adventure");
+        }));
+
+        Author author = libraryDAO.findAuthorByName("Henryk Sienkiewicz");
+        assertEquals(70, author.getAge());
+        assertEquals("Adventure", author.getFavouriteGenre());
+        assertEquals(120, libraryDAO.getBooksOfAuthor("Batch Author 0").size());
+    }
+}
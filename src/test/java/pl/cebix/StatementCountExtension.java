@@ -0,0 +1,26 @@
+package pl.cebix;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+public class StatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        LibrarySqlMonitor.startRecording();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<String> statements = LibrarySqlMonitor.stopRecording();
+        MaxStatements maxStatements = context.getRequiredTestMethod().getAnnotation(MaxStatements.class);
+
+        if (maxStatements != null && statements.size() > maxStatements.value()) {
+            throw new AssertionFailedError("Expected at most " + maxStatements.value() + " SQL statements but "
+                    + statements.size() + " were executed:\n" + String.join("\n", statements));
+        }
+    }
+}